@@ -0,0 +1,402 @@
+package com.easy.mall.cloud.bean;
+
+import com.easy.mall.cloud.model.ComplexSource;
+import com.easy.mall.cloud.model.ComplexTarget;
+import com.easy.mall.cloud.model.Node;
+import com.easy.mall.cloud.model.PrimitiveTarget;
+import com.easy.mall.cloud.model.SourcePojo;
+import com.easy.mall.cloud.model.TargetPojo;
+import com.easy.mall.cloud.model.WrapperSource;
+import com.easy.mall.cloud.util.BeanUtil;
+import com.easy.mall.cloud.util.JsonBeanUtil;
+import com.easy.mall.cloud.util.SpringBeanUtil;
+import com.easy.mall.cloud.util.UnsafeBeanUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bean 拷贝后端的 JMH 基准 (替代 BeanUtilBenchmark 的手写计时)
+ * 1. 返回值交给 JMH 的 Blackhole，不会被 JIT 当作死代码消除，也没有共享数组带来的伪共享。
+ * 2. 参数：backend 四种实现 × shape 三种 Bean 形态；copyWithOptions 额外遍历 CopyOptions 模式，CopyOptions 在 Setup 中构建。
+ * 3. Spring 的 deepCopy / include 只做兼容 (实际忽略)，按其真实行为测量；ignoreNulls 只有 BeanUtil / UnsafeBeanUtil 支持，
+ *    单独放在 IgnoreNulls 中测量。
+ * 运行：mvn -Pjmh package && java -jar target/benchmarks.jar BeanCopyBenchmark -prof gc
+ * -prof gc 额外输出 gc.alloc.rate.norm (每次操作分配的字节数)，用于比较各后端的分配压力。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BeanCopyBenchmark {
+
+  private static final int LIST_SIZE = 100;
+  private static final int CHAIN_DEPTH = 8;
+
+  @Param({"BEAN_UTIL", "UNSAFE_BEAN_UTIL", "SPRING_BEAN_UTIL", "JSON_BEAN_UTIL"})
+  public Backend backend;
+
+  @Param({"FLAT", "NESTED", "BOXED"})
+  public Shape shape;
+
+  private Object source;
+  private Object cloneSource;
+  private List<Object> sources;
+
+  @Setup
+  public void setup() {
+    source = shape.source();
+    cloneSource = shape.cloneSource();
+    sources = new ArrayList<>(LIST_SIZE);
+    for (int i = 0; i < LIST_SIZE; i++) sources.add(shape.source());
+  }
+
+  @Benchmark
+  public Object copy() {
+    Object target = shape.newTarget();
+    backend.copy(source, target);
+    return target;
+  }
+
+  @Benchmark
+  public Object convert() {
+    return backend.convert(source, shape.targetClass);
+  }
+
+  @Benchmark
+  public Object converts() {
+    return backend.converts(sources, shape.targetClass);
+  }
+
+  @Benchmark
+  public Object deepClone() {
+    return backend.deepClone(cloneSource);
+  }
+
+  @Benchmark
+  public Object copyWithOptions(OptionsState state) {
+    Object target = shape.newTarget();
+    backend.copy(source, target, state.options);
+    return target;
+  }
+
+  @State(Scope.Benchmark)
+  public static class OptionsState {
+
+    @Param({"SHALLOW", "DEEP", "INCLUDE", "EXCLUDE"})
+    public CopyMode copyMode;
+
+    Object options;
+
+    @Setup
+    public void setup(BeanCopyBenchmark benchmark) {
+      options = benchmark.backend.options(copyMode, benchmark.shape.field);
+    }
+  }
+
+  /**
+   * ignoreNulls 单独成组，源对象的第一个字段置为 null；只有 BeanUtil 与 UnsafeBeanUtil 支持，使用独立的后端集合
+   */
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  @Fork(2)
+  @State(Scope.Benchmark)
+  public static class IgnoreNulls {
+
+    @Param({"BEAN_UTIL", "UNSAFE_BEAN_UTIL"})
+    public NullSkippingBackend backend;
+
+    @Param({"FLAT", "NESTED", "BOXED"})
+    public Shape shape;
+
+    private Object source;
+
+    @Setup
+    public void setup() {
+      source = shape.sourceWithNull();
+    }
+
+    @Benchmark
+    public Object copyIgnoreNulls() {
+      Object target = shape.newTarget();
+      backend.backend.copy(source, target, backend.options);
+      return target;
+    }
+  }
+
+  public enum CopyMode {
+    SHALLOW, DEEP, INCLUDE, EXCLUDE
+  }
+
+  /**
+   * 支持 ignoreNulls 的后端及其选项
+   */
+  public enum NullSkippingBackend {
+    BEAN_UTIL(Backend.BEAN_UTIL, new BeanUtil.CopyOptions.Builder().ignoreNulls(true).build()),
+    UNSAFE_BEAN_UTIL(Backend.UNSAFE_BEAN_UTIL, new UnsafeBeanUtil.CopyOptions.Builder().ignoreNulls(true).build());
+
+    final Backend backend;
+    final Object options;
+
+    NullSkippingBackend(Backend backend, Object options) {
+      this.backend = backend;
+      this.options = options;
+    }
+  }
+
+  /**
+   * Bean 形态：源对象、目标类型，以及 INCLUDE / EXCLUDE 模式使用的字段
+   */
+  public enum Shape {
+    /**
+     * 4 个扁平字段 (String / int / double)
+     */
+    FLAT(TargetPojo.class, TargetPojo::new, "name") {
+      @Override
+      Object source() {
+        return new SourcePojo("测试用户", 18, "上海市浦东新区", 99.9);
+      }
+
+      @Override
+      Object sourceWithNull() {
+        return new SourcePojo(null, 18, "上海市浦东新区", 99.9);
+      }
+
+      /**
+       * SourcePojo 没有无参构造器，Spring / JsonBeanUtil 无法克隆，改为克隆同样字段的 TargetPojo
+       */
+      @Override
+      Object cloneSource() {
+        return BeanUtil.convert(source(), TargetPojo.class);
+      }
+    },
+    /**
+     * 带 8 层 Node 链的嵌套对象，深拷贝时需要逐层复制
+     */
+    NESTED(ComplexTarget.class, ComplexTarget::new, "node") {
+      @Override
+      Object source() {
+        Node head = new Node("node-0");
+        Node tail = head;
+        for (int i = 1; i < CHAIN_DEPTH; i++) {
+          tail.setNext(new Node("node-" + i));
+          tail = tail.getNext();
+        }
+        return new ComplexSource("complex-1", head);
+      }
+
+      @Override
+      Object sourceWithNull() {
+        return new ComplexSource(null, ((ComplexSource) source()).getNode());
+      }
+    },
+    /**
+     * 包装类型到基本类型 (Integer / Boolean -> int / boolean)，测量拆箱转换
+     */
+    BOXED(PrimitiveTarget.class, PrimitiveTarget::new, "age") {
+      @Override
+      Object source() {
+        return new WrapperSource(18, Boolean.TRUE);
+      }
+
+      @Override
+      Object sourceWithNull() {
+        return new WrapperSource(null, Boolean.TRUE);
+      }
+    };
+
+    final Class<?> targetClass;
+    final Supplier<Object> targetFactory;
+    final String field;
+
+    Shape(Class<?> targetClass, Supplier<Object> targetFactory, String field) {
+      this.targetClass = targetClass;
+      this.targetFactory = targetFactory;
+      this.field = field;
+    }
+
+    abstract Object source();
+
+    abstract Object sourceWithNull();
+
+    /**
+     * deepClone 基准的克隆对象
+     */
+    Object cloneSource() {
+      return source();
+    }
+
+    Object newTarget() {
+      return targetFactory.get();
+    }
+  }
+
+  /**
+   * 四种拷贝实现的统一入口；options 只在 Setup 中调用，不计入测量
+   */
+  public enum Backend {
+    BEAN_UTIL {
+      @Override
+      void copy(Object source, Object target) {
+        BeanUtil.copy(source, target);
+      }
+
+      @Override
+      Object options(CopyMode mode, String field) {
+        return switch (mode) {
+          case SHALLOW -> BeanUtil.CopyOptions.SHALLOW;
+          case DEEP -> BeanUtil.CopyOptions.DEEP;
+          case INCLUDE -> new BeanUtil.CopyOptions.Builder().include(field).build();
+          case EXCLUDE -> new BeanUtil.CopyOptions.Builder().exclude(field).build();
+        };
+      }
+
+      @Override
+      void copy(Object source, Object target, Object options) {
+        BeanUtil.copy(source, target, (BeanUtil.CopyOptions) options);
+      }
+
+      @Override
+      Object convert(Object source, Class<?> targetClass) {
+        return BeanUtil.convert(source, targetClass);
+      }
+
+      @Override
+      List<?> converts(List<Object> sources, Class<?> targetClass) {
+        return BeanUtil.converts(sources, targetClass);
+      }
+
+      @Override
+      Object deepClone(Object source) {
+        return BeanUtil.deepClone(source);
+      }
+    },
+    UNSAFE_BEAN_UTIL {
+      @Override
+      void copy(Object source, Object target) {
+        UnsafeBeanUtil.copy(source, target);
+      }
+
+      @Override
+      Object options(CopyMode mode, String field) {
+        return switch (mode) {
+          case SHALLOW -> UnsafeBeanUtil.CopyOptions.SHALLOW;
+          case DEEP -> UnsafeBeanUtil.CopyOptions.DEEP;
+          case INCLUDE -> new UnsafeBeanUtil.CopyOptions.Builder().include(field).build();
+          case EXCLUDE -> new UnsafeBeanUtil.CopyOptions.Builder().exclude(field).build();
+        };
+      }
+
+      @Override
+      void copy(Object source, Object target, Object options) {
+        UnsafeBeanUtil.copy(source, target, (UnsafeBeanUtil.CopyOptions) options);
+      }
+
+      @Override
+      Object convert(Object source, Class<?> targetClass) {
+        return UnsafeBeanUtil.convert(source, targetClass);
+      }
+
+      @Override
+      List<?> converts(List<Object> sources, Class<?> targetClass) {
+        return UnsafeBeanUtil.converts(sources, targetClass);
+      }
+
+      @Override
+      Object deepClone(Object source) {
+        return UnsafeBeanUtil.deepClone(source);
+      }
+    },
+    SPRING_BEAN_UTIL {
+      @Override
+      void copy(Object source, Object target) {
+        SpringBeanUtil.copy(source, target);
+      }
+
+      @Override
+      Object options(CopyMode mode, String field) {
+        return switch (mode) {
+          case SHALLOW -> SpringBeanUtil.CopyOptions.SHALLOW;
+          case DEEP -> SpringBeanUtil.CopyOptions.DEEP;
+          case INCLUDE -> new SpringBeanUtil.CopyOptions.Builder().include(field).build();
+          case EXCLUDE -> new SpringBeanUtil.CopyOptions.Builder().exclude(field).build();
+        };
+      }
+
+      @Override
+      void copy(Object source, Object target, Object options) {
+        SpringBeanUtil.copy(source, target, (SpringBeanUtil.CopyOptions) options);
+      }
+
+      @Override
+      Object convert(Object source, Class<?> targetClass) {
+        return SpringBeanUtil.convert(source, targetClass);
+      }
+
+      @Override
+      List<?> converts(List<Object> sources, Class<?> targetClass) {
+        return SpringBeanUtil.converts(sources, targetClass);
+      }
+
+      @Override
+      Object deepClone(Object source) {
+        return SpringBeanUtil.deepClone(source);
+      }
+    },
+    JSON_BEAN_UTIL {
+      @Override
+      void copy(Object source, Object target) {
+        JsonBeanUtil.copy(source, target);
+      }
+
+      @Override
+      Object options(CopyMode mode, String field) {
+        return switch (mode) {
+          case SHALLOW -> JsonBeanUtil.CopyOptions.SHALLOW;
+          case DEEP -> JsonBeanUtil.CopyOptions.DEEP;
+          case INCLUDE -> new JsonBeanUtil.CopyOptions.Builder().include(field).build();
+          case EXCLUDE -> new JsonBeanUtil.CopyOptions.Builder().exclude(field).build();
+        };
+      }
+
+      @Override
+      void copy(Object source, Object target, Object options) {
+        JsonBeanUtil.copy(source, target, (JsonBeanUtil.CopyOptions) options);
+      }
+
+      @Override
+      Object convert(Object source, Class<?> targetClass) {
+        return JsonBeanUtil.convert(source, targetClass);
+      }
+
+      @Override
+      List<?> converts(List<Object> sources, Class<?> targetClass) {
+        return JsonBeanUtil.converts(sources, targetClass);
+      }
+
+      @Override
+      Object deepClone(Object source) {
+        return JsonBeanUtil.deepClone(source);
+      }
+    };
+
+    abstract void copy(Object source, Object target);
+
+    abstract Object options(CopyMode mode, String field);
+
+    abstract void copy(Object source, Object target, Object options);
+
+    abstract Object convert(Object source, Class<?> targetClass);
+
+    abstract List<?> converts(List<Object> sources, Class<?> targetClass);
+
+    abstract Object deepClone(Object source);
+  }
+}
\ No newline at end of file
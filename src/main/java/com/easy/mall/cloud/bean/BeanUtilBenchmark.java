@@ -14,6 +14,7 @@ import java.util.concurrent.atomic.LongAdder;
 /**
  * Bean 工具类性能压测程序
  * 环境要求：JDK 21+ (需启用虚拟线程)
+ * 用于快速观察虚拟线程下的吞吐；用于选型的数据请使用 src/jmh 下的 BeanCopyBenchmark (mvn -Pjmh package)
  */
 public class BeanUtilBenchmark {
 
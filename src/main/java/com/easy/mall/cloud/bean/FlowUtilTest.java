@@ -0,0 +1,259 @@
+package com.easy.mall.cloud.bean;
+
+import com.easy.mall.cloud.util.FlowUtil;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * FlowUtil 背压 / 取消 / 需求换算 / 非法请求校验 (需 -ea 运行)
+ */
+public class FlowUtilTest {
+
+  public static void main(String[] args) throws InterruptedException {
+    try {
+      System.out.println("=== 开始 FlowUtil 行为测试 ===\n");
+      testBackpressure();
+      testCancelMidStream();
+      testBatchDemand();
+      testFlatDemand();
+      testInvalidRequest();
+      testConcurrentInvalidRequest();
+      System.out.println("恭喜！所有测试用例通过。");
+    } catch (Exception e) {
+      System.err.println("测试失败：" + e);
+      throw e;
+    }
+  }
+
+  /**
+   * 记录收到的信号；回调重叠或终止信号重复时记为违规
+   */
+  private static class Recorder<T> implements Flow.Subscriber<T> {
+    final List<T> items = new ArrayList<>();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger violations = new AtomicInteger();
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile Flow.Subscription subscription;
+    volatile Throwable error;
+    volatile int terminals;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+      enter();
+      items.add(item);
+      exit();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      enter();
+      error = throwable;
+      terminals++;
+      exit();
+      terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      enter();
+      terminals++;
+      exit();
+      terminated.countDown();
+    }
+
+    void enter() {
+      if (inFlight.getAndIncrement() != 0 || terminals != 0) violations.incrementAndGet();
+    }
+
+    void exit() {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  /**
+   * 记录被拉取了多少个元素的数据源
+   */
+  private static final class CountingSource implements Iterable<Integer> {
+    final int size;
+    final AtomicInteger pulled = new AtomicInteger();
+
+    CountingSource(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<>() {
+        int next;
+
+        @Override
+        public boolean hasNext() {
+          return next < size;
+        }
+
+        @Override
+        public Integer next() {
+          pulled.incrementAndGet();
+          return next++;
+        }
+      };
+    }
+  }
+
+  /**
+   * 测试慢消费者逐个 request(1)：未请求时不发射，每次只拉取一个元素，map / filter 透传需求
+   */
+  private static void testBackpressure() {
+    CountingSource source = new CountingSource(100);
+    Flow.Publisher<Integer> even = FlowUtil.filter(FlowUtil.map(FlowUtil.fromIterable(source), i -> i * 10), i -> i % 20 == 0);
+    Recorder<Integer> recorder = new Recorder<>();
+    even.subscribe(recorder);
+
+    assert recorder.items.isEmpty() && source.pulled.get() == 0;
+    for (int i = 0; i < 5; i++) {
+      recorder.subscription.request(1);
+      assert recorder.items.size() == i + 1;
+    }
+    assert recorder.items.equals(List.of(0, 20, 40, 60, 80));
+    // 被过滤的元素向上游补 1 个请求，因此拉取数只比发出数多被丢弃的个数
+    assert source.pulled.get() == 9 : source.pulled.get();
+    assert recorder.terminals == 0 && recorder.violations.get() == 0;
+    System.out.println("[PASS] 逐个请求背压测试通过");
+  }
+
+  /**
+   * 测试消费中途取消：不再收到任何信号，数据源不再被拉取
+   */
+  private static void testCancelMidStream() {
+    CountingSource source = new CountingSource(1000);
+    Recorder<Integer> recorder = new Recorder<>() {
+      @Override
+      public void onNext(Integer item) {
+        super.onNext(item);
+        if (items.size() == 3) subscription.cancel();
+      }
+    };
+    FlowUtil.fromIterable(source).subscribe(recorder);
+
+    recorder.subscription.request(Long.MAX_VALUE);
+    assert recorder.items.equals(List.of(0, 1, 2));
+    assert source.pulled.get() == 3;
+    recorder.subscription.request(10);
+    assert recorder.items.size() == 3 && recorder.terminals == 0;
+    System.out.println("[PASS] 中途取消测试通过");
+  }
+
+  /**
+   * 测试 batch 需求换算：n 个批次只向上游请求 n * size 个元素，尾批在上游结束时发出
+   */
+  private static void testBatchDemand() {
+    CountingSource source = new CountingSource(10);
+    Recorder<List<Integer>> recorder = new Recorder<>();
+    FlowUtil.batch(FlowUtil.fromIterable(source), 3).subscribe(recorder);
+
+    recorder.subscription.request(2);
+    assert recorder.items.equals(List.of(List.of(0, 1, 2), List.of(3, 4, 5)));
+    assert source.pulled.get() == 6;
+    recorder.subscription.request(5);
+    assert recorder.items.size() == 4 && recorder.items.get(3).equals(List.of(9));
+    assert recorder.terminals == 1 && recorder.error == null && recorder.violations.get() == 0;
+    System.out.println("[PASS] batch 需求换算测试通过");
+  }
+
+  /**
+   * 测试 flat 需求：集合内部同样受下游需求约束，当前集合发完后才向上游请求下一个
+   */
+  private static void testFlatDemand() {
+    CountingSource pages = new CountingSource(3);
+    Flow.Publisher<List<Integer>> paged = FlowUtil.map(FlowUtil.fromIterable(pages), p -> List.of(p * 10, p * 10 + 1, p * 10 + 2));
+    Recorder<Integer> recorder = new Recorder<>();
+    FlowUtil.<Integer>flat(paged).subscribe(recorder);
+
+    assert pages.pulled.get() == 1 && recorder.items.isEmpty();
+    recorder.subscription.request(2);
+    assert recorder.items.equals(List.of(0, 1)) && pages.pulled.get() == 1;
+    recorder.subscription.request(2);
+    assert recorder.items.equals(List.of(0, 1, 2, 10)) && pages.pulled.get() == 2;
+    recorder.subscription.request(Long.MAX_VALUE);
+    assert recorder.items.size() == 9 && recorder.terminals == 1 && recorder.error == null;
+    assert recorder.violations.get() == 0;
+    System.out.println("[PASS] flat 需求测试通过");
+  }
+
+  /**
+   * 测试非法请求：onError(IllegalArgumentException) 只发一次，且不会嵌套在 onNext 回调内发出
+   */
+  private static void testInvalidRequest() {
+    Recorder<Integer> direct = new Recorder<>();
+    FlowUtil.fromIterable(List.of(1, 2, 3)).subscribe(direct);
+    direct.subscription.request(0);
+    direct.subscription.request(-1);
+    assert direct.error instanceof IllegalArgumentException && direct.terminals == 1;
+    assert direct.items.isEmpty();
+
+    // onNext 内部发出非法请求：错误须等本次 onNext 返回后再发出
+    Recorder<Integer> reentrant = new Recorder<>() {
+      @Override
+      public void onNext(Integer item) {
+        enter();
+        items.add(item);
+        subscription.request(-1);
+        exit();
+      }
+    };
+    FlowUtil.fromIterable(List.of(1, 2, 3)).subscribe(reentrant);
+    reentrant.subscription.request(10);
+    assert reentrant.items.equals(List.of(1)) && reentrant.terminals == 1;
+    assert reentrant.error instanceof IllegalArgumentException && reentrant.violations.get() == 0;
+
+    List<Flow.Publisher<Integer>> flats = List.of(
+        FlowUtil.flat(FlowUtil.fromIterable(List.of(List.of(1, 2), List.of(3)))),
+        FlowUtil.flat(FlowUtil.batch(FlowUtil.fromIterable(List.of(1, 2, 3)), 2)));
+    for (Flow.Publisher<Integer> flat : flats) {
+      Recorder<Integer> recorder = new Recorder<>();
+      flat.subscribe(recorder);
+      recorder.subscription.request(1);
+      recorder.subscription.request(0);
+      recorder.subscription.request(5);
+      assert recorder.items.equals(List.of(1)) && recorder.terminals == 1;
+      assert recorder.error instanceof IllegalArgumentException && recorder.violations.get() == 0;
+    }
+    System.out.println("[PASS] 非法请求测试通过");
+  }
+
+  /**
+   * 测试发射过程中另一线程发出非法请求：终止信号由发射线程串行发出，不与 onNext 重叠，只出现一次
+   */
+  private static void testConcurrentInvalidRequest() throws InterruptedException {
+    List<Integer> large = IntStream.range(0, 5_000_000).boxed().toList();
+    for (int round = 0; round < 20; round++) {
+      Recorder<Integer> recorder = new Recorder<>();
+      FlowUtil.fromIterable(large).subscribe(recorder);
+      CountDownLatch started = new CountDownLatch(1);
+      Thread emitter = Thread.ofPlatform().start(() -> {
+        started.countDown();
+        recorder.subscription.request(Long.MAX_VALUE);
+      });
+      started.await();
+      recorder.subscription.request(-1);
+      assert recorder.terminated.await(10, TimeUnit.SECONDS);
+      emitter.join();
+      assert recorder.terminals == 1 && recorder.violations.get() == 0;
+      // 非法请求晚于数据源结束时已正常完成，不再追加 onError；否则以 onError 提前终止
+      assert recorder.error == null ? recorder.items.size() == large.size() : recorder.error instanceof IllegalArgumentException;
+    }
+    System.out.println("[PASS] 并发非法请求测试通过");
+  }
+}
\ No newline at end of file
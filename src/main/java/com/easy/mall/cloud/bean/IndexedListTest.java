@@ -0,0 +1,215 @@
+package com.easy.mall.cloud.bean;
+
+import com.easy.mall.cloud.util.IndexedList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IndexedList 行为校验 (需 -ea 运行)
+ */
+public class IndexedListTest {
+
+  public static void main(String[] args) {
+    try {
+      System.out.println("=== 开始 IndexedList 行为测试 ===\n");
+      testAddAndProjections();
+      testSwapRemove();
+      testDuplicateKeyAfterRemove();
+      testIteratorRemove();
+      testRemoveIf();
+      testSetAndUpdate();
+      testListView();
+      testClear();
+      System.out.println("恭喜！所有测试用例通过。");
+    } catch (Exception e) {
+      System.err.println("测试失败：" + e);
+      throw e;
+    }
+  }
+
+  private static final class Sku {
+    final String name;
+    String category;
+
+    Sku(String name, String category) {
+      this.name = name;
+      this.category = category;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  private static List<String> names(Iterable<Sku> skus) {
+    List<String> names = new ArrayList<>();
+    for (Sku sku : skus) names.add(sku.name);
+    return names;
+  }
+
+  /**
+   * 测试新增元素时投影视图实时更新，且同一实例不可重复加入
+   */
+  private static void testAddAndProjections() {
+    IndexedList<Sku> list = new IndexedList<>();
+    Sku a = new Sku("a", "fruit");
+    list.add(a);
+    Map<String, List<Sku>> byCategory = list.groupBy(s -> s.category);
+    Map<String, Sku> byName = list.convertToMap(s -> s.name);
+    list.add(new Sku("b", "fruit"));
+    list.add(new Sku("c", "drink"));
+
+    assert list.size() == 3;
+    assert names(byCategory.get("fruit")).equals(List.of("a", "b"));
+    assert byName.get("c").category.equals("drink");
+    try {
+      list.add(a);
+      assert false : "重复实例应被拒绝";
+    } catch (IllegalArgumentException expected) {
+      // ok
+    }
+    System.out.println("[PASS] add 与投影视图测试通过");
+  }
+
+  /**
+   * 测试按下标 / 按实例删除：末尾元素补位，投影同步摘除
+   */
+  private static void testSwapRemove() {
+    IndexedList<Sku> list = new IndexedList<>();
+    Sku a = new Sku("a", "x"), b = new Sku("b", "y"), c = new Sku("c", "x"), d = new Sku("d", "y");
+    list.addAll(List.of(a, b, c, d));
+    Map<String, List<Sku>> byCategory = list.groupBy(s -> s.category);
+
+    assert list.remove(0) == a;
+    assert names(list).equals(List.of("d", "b", "c"));
+    assert list.remove(b);
+    assert !list.remove(b);
+    assert names(list).equals(List.of("d", "c"));
+    assert !list.contains(b) && list.contains(c);
+    assert names(byCategory.get("x")).equals(List.of("c"));
+    assert names(byCategory.get("y")).equals(List.of("d"));
+    System.out.println("[PASS] 交换删除测试通过");
+  }
+
+  /**
+   * 测试重复键：convertToMap 取组内当前首个元素，删除后由组内末尾元素顶替 (不保证先到优先)
+   */
+  private static void testDuplicateKeyAfterRemove() {
+    IndexedList<Sku> list = new IndexedList<>();
+    Sku a = new Sku("a", "x"), b = new Sku("b", "x"), c = new Sku("c", "x");
+    list.addAll(List.of(a, b, c));
+    Map<String, Sku> byCategory = list.convertToMap(s -> s.category);
+    Map<String, List<Sku>> groups = list.groupBy(s -> s.category);
+
+    assert byCategory.get("x") == a;
+    list.remove(a);
+    assert byCategory.get("x") == c;
+    assert names(groups.get("x")).equals(List.of("c", "b"));
+    System.out.println("[PASS] 重复键删除后顶替测试通过");
+  }
+
+  /**
+   * 测试迭代器删除：补位到当前空位的末尾元素不会被跳过，并发修改快速失败
+   */
+  private static void testIteratorRemove() {
+    IndexedList<Sku> list = new IndexedList<>();
+    for (String n : List.of("a", "b", "c", "d")) list.add(new Sku(n, "x"));
+
+    List<String> visited = new ArrayList<>();
+    for (Iterator<Sku> it = list.iterator(); it.hasNext(); ) {
+      Sku sku = it.next();
+      visited.add(sku.name);
+      if (sku.name.equals("a") || sku.name.equals("b")) it.remove();
+    }
+    assert visited.size() == 4 && visited.containsAll(List.of("a", "b", "c", "d"));
+    assert list.size() == 2 && names(list).containsAll(List.of("c", "d"));
+
+    try {
+      for (Sku sku : list) list.add(new Sku(sku.name + "'", "x"));
+      assert false : "遍历中修改应抛出 ConcurrentModificationException";
+    } catch (ConcurrentModificationException expected) {
+      // ok
+    }
+    System.out.println("[PASS] 迭代器删除测试通过");
+  }
+
+  /**
+   * 测试 removeIf (AbstractCollection 基于迭代器实现)
+   */
+  private static void testRemoveIf() {
+    IndexedList<Sku> list = new IndexedList<>();
+    for (String n : List.of("a", "b", "c", "d", "e")) list.add(new Sku(n, n.compareTo("c") < 0 ? "low" : "high"));
+    Map<String, List<Sku>> byCategory = list.groupBy(s -> s.category);
+
+    list.removeIf(s -> s.category.equals("low"));
+    assert list.size() == 3 && names(list).containsAll(List.of("c", "d", "e"));
+    assert byCategory.get("low") == null;
+    assert byCategory.get("high").size() == 3;
+    System.out.println("[PASS] removeIf 测试通过");
+  }
+
+  /**
+   * 测试 set 原位替换与 update 重新计算投影键
+   */
+  private static void testSetAndUpdate() {
+    IndexedList<Sku> list = new IndexedList<>();
+    Sku a = new Sku("a", "x"), b = new Sku("b", "x");
+    list.addAll(List.of(a, b));
+    Map<String, List<Sku>> byCategory = list.groupBy(s -> s.category);
+
+    Sku a2 = new Sku("a2", "y");
+    assert list.set(0, a2) == a;
+    assert list.get(0) == a2 && !list.contains(a);
+    assert names(byCategory.get("y")).equals(List.of("a2"));
+
+    b.category = "y";
+    list.update(b);
+    assert byCategory.get("x") == null;
+    assert byCategory.get("y").size() == 2;
+    System.out.println("[PASS] set / update 测试通过");
+  }
+
+  /**
+   * 测试只读 List 视图：实时反映变化，写操作被拒绝，可拷贝后排序
+   */
+  private static void testListView() {
+    IndexedList<Sku> list = new IndexedList<>();
+    for (String n : List.of("c", "a", "b")) list.add(new Sku(n, "x"));
+    List<Sku> view = list.asList();
+
+    List<Sku> sorted = new ArrayList<>(view);
+    sorted.sort(Comparator.comparing(s -> s.name));
+    assert names(sorted).equals(List.of("a", "b", "c"));
+    assert names(view.subList(0, 2)).equals(List.of("c", "a"));
+
+    list.remove(0);
+    assert view.size() == 2 && view.get(0).name.equals("b");
+    try {
+      view.subList(0, 1).clear();
+      assert false : "只读视图不可修改";
+    } catch (UnsupportedOperationException expected) {
+      // ok
+    }
+    System.out.println("[PASS] 只读 List 视图测试通过");
+  }
+
+  /**
+   * 测试 clear 后投影视图清空且可继续使用
+   */
+  private static void testClear() {
+    IndexedList<Sku> list = new IndexedList<>();
+    Map<String, Sku> byName = list.convertToMap(s -> s.name);
+    list.add(new Sku("a", "x"));
+    list.clear();
+    assert list.isEmpty() && byName.isEmpty();
+    list.add(new Sku("b", "x"));
+    assert byName.size() == 1 && byName.containsKey("b");
+    System.out.println("[PASS] clear 测试通过");
+  }
+}
\ No newline at end of file
@@ -19,14 +19,47 @@ public class StreamBenchmark {
 
     // 全局预热：确保所有实现都进入最佳状态
     warmup();
+    System.out.println("Calibrated profile: " + StreamUtil.calibrate());
 
-    System.out.println("Size\t\tMethod\t\tFor\t\tStream\t\tParallel");
-    System.out.println("-------------------------------------------------------------------------");
+    System.out.println("Size\t\tMethod\t\tFor\t\tStream\t\tParallel\tAuto");
+    System.out.println("-----------------------------------------------------------------------------------------");
 
     for (int size : sizes) {
       runBenchmark(size);
       TimeUnit.MILLISECONDS.sleep(500);
     }
+
+    runIoBenchmark();
+  }
+
+  /**
+   * I/O 密集映射：用固定延迟的本地桩模拟远程缓存查询，对比逐个调用与 mapConcurrent
+   */
+  private static void runIoBenchmark() {
+    int size = 200;
+    int latencyMs = 5;
+    List<Long> ids = new ArrayList<>(size);
+    for (long i = 0; i < size; i++) ids.add(i);
+
+    long t1 = System.nanoTime() / 1000;
+    List<String> sequential = new ArrayList<>(size);
+    for (Long id : ids) sequential.add(remoteLookup(id, latencyMs));
+    long t2 = System.nanoTime() / 1000;
+    List<String> concurrent = StreamUtil.mapConcurrent(ids, id -> remoteLookup(id, latencyMs), 32);
+    long t3 = System.nanoTime() / 1000;
+
+    System.out.printf("I/O mapper (%d x %dms)\tSequential: %d us\tmapConcurrent(32): %d us\tSame order: %b\n",
+        size, latencyMs, (t2 - t1), (t3 - t2), sequential.equals(concurrent));
+  }
+
+  private static String remoteLookup(Long id, int latencyMs) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(latencyMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+    return "user-" + id;
   }
 
   private static void warmup() {
@@ -58,8 +91,10 @@ public class StreamBenchmark {
     long t3 = System.nanoTime() / 1000;
     StreamUtil.transToMapParallel(data, v -> v);
     long t4 = System.nanoTime() / 1000;
+    StreamUtil.transToMap(data, v -> v);
+    long t5 = System.nanoTime() / 1000;
 
-    System.out.printf("%d\ttransToMap\t%d\t\t%d\t\t%d\n", size, (t2 - t1), (t3 - t2), (t4 - t3));
+    System.out.printf("%d\ttransToMap\t%d\t\t%d\t\t%d\t\t%d\n", size, (t2 - t1), (t3 - t2), (t4 - t3), (t5 - t4));
 
     // --- flat 测试 ---
     t1 = System.nanoTime() / 1000;
@@ -69,8 +104,10 @@ public class StreamBenchmark {
     t3 = System.nanoTime() / 1000;
     StreamUtil.flatParallel(flatData);
     t4 = System.nanoTime() / 1000;
+    StreamUtil.flat(flatData);
+    t5 = System.nanoTime() / 1000;
 
-    System.out.printf("%d\tflat      \t%d\t\t%d\t\t%d\n", size, (t2 - t1), (t3 - t2), (t4 - t3));
-    System.out.println("-------------------------------------------------------------------------");
+    System.out.printf("%d\tflat      \t%d\t\t%d\t\t%d\t\t%d\n", size, (t2 - t1), (t3 - t2), (t4 - t3), (t5 - t4));
+    System.out.println("-----------------------------------------------------------------------------------------");
   }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.easy.mall.cloud.bean;
+
+import com.easy.mall.cloud.util.ObjUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-K 对比：全量复制排序后截取前 k 个 vs ObjUtil.topK / topKParallel / sortedPrefix
+ * 每组先校验结果与全量排序一致，再计时 (单位 us，取多轮最小值)
+ */
+public class TopKBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 200;
+  private static final int ROUNDS = 5;
+  private static final int K = 50;
+  private static final Comparator<Long> DESC = Comparator.reverseOrder();
+
+  public static volatile Object blackhole;
+
+  public static void main(String[] args) throws InterruptedException {
+    int[] sizes = {1000, 10000, 100000, 1000000};
+
+    System.out.println("Benchmark Start (Unit: us, k = " + K + ")");
+    warmup();
+
+    System.out.println("Size\t\tSort\t\ttopK\t\ttopKParallel\tsortedPrefix\tSame result");
+    System.out.println("-----------------------------------------------------------------------------------------");
+    for (int size : sizes) {
+      runBenchmark(size);
+      TimeUnit.MILLISECONDS.sleep(500);
+    }
+  }
+
+  /**
+   * 互不相同的值打乱顺序，保证前 k 个唯一，便于与全量排序逐个比较
+   */
+  private static List<Long> shuffled(int size) {
+    List<Long> data = new ArrayList<>(size);
+    for (long i = 0; i < size; i++) data.add(i);
+    Collections.shuffle(data, new Random(size));
+    return data;
+  }
+
+  private static List<Long> fullSort(List<Long> data) {
+    List<Long> copy = new ArrayList<>(data);
+    copy.sort(DESC);
+    return new ArrayList<>(copy.subList(0, Math.min(K, copy.size())));
+  }
+
+  private static void warmup() {
+    List<Long> data = shuffled(10000);
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      blackhole = fullSort(data);
+      blackhole = ObjUtil.topK(data, K, DESC);
+      blackhole = ObjUtil.topKParallel(data, K, DESC);
+      blackhole = ObjUtil.sortedPrefix(new ArrayList<>(data), K, DESC);
+    }
+  }
+
+  private static void runBenchmark(int size) {
+    List<Long> data = shuffled(size);
+    List<Long> expected = fullSort(data);
+    boolean same = expected.equals(ObjUtil.topK(data, K, DESC))
+        && expected.equals(ObjUtil.topKParallel(data, K, DESC))
+        && expected.equals(ObjUtil.sortedPrefix(new ArrayList<>(data), K, DESC));
+
+    long sort = Long.MAX_VALUE, heap = Long.MAX_VALUE, parallel = Long.MAX_VALUE, prefix = Long.MAX_VALUE;
+    for (int r = 0; r < ROUNDS; r++) {
+      // sortedPrefix 会原地调整列表，复制放在计时之外
+      List<Long> scratch = new ArrayList<>(data);
+
+      long t1 = System.nanoTime() / 1000;
+      blackhole = fullSort(data);
+      long t2 = System.nanoTime() / 1000;
+      blackhole = ObjUtil.topK(data, K, DESC);
+      long t3 = System.nanoTime() / 1000;
+      blackhole = ObjUtil.topKParallel(data, K, DESC);
+      long t4 = System.nanoTime() / 1000;
+      blackhole = ObjUtil.sortedPrefix(scratch, K, DESC);
+      long t5 = System.nanoTime() / 1000;
+
+      sort = Math.min(sort, t2 - t1);
+      heap = Math.min(heap, t3 - t2);
+      parallel = Math.min(parallel, t4 - t3);
+      prefix = Math.min(prefix, t5 - t4);
+    }
+    System.out.printf("%d\t\t%d\t\t%d\t\t%d\t\t%d\t\t%b\n", size, sort, heap, parallel, prefix, same);
+  }
+}
\ No newline at end of file
@@ -2,10 +2,32 @@ package com.easy.mall.cloud.code;
 
 import com.easy.mall.cloud.util.CodeUtil;
 import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CodeUtilTest {
 
+    // 防止 JIT 把被测调用当作死代码消除
+    public static volatile long blackhole;
+
     public static void main(String[] args) {
         String testStr = "Hello, Easy Mall 2026! 程序员万岁";
 
@@ -46,7 +68,217 @@ public class CodeUtilTest {
         long apacheTime = System.nanoTime() - start;
 
         System.out.println("--- 性能比拼 (1,000,000次) ---");
-        System.out.printf("My Implementation (HexFormat): %d ms\n", myTime / 1_000_000);
-        System.out.printf("Apache (DigestUtils):          %d ms\n", apacheTime / 1_000_000);
+        System.out.printf("My Implementation (DigestPool): %d ms\n", myTime / 1_000_000);
+        System.out.printf("Apache (DigestUtils):           %d ms\n", apacheTime / 1_000_000);
+
+        // 3. 多算法、多字符集 (含 emoji 代理对) 一致性校验，空白串保持返回 ""
+        List<String> samples = List.of(testStr, "a", "𝄞 emoji 😀 混合", "x".repeat(100_000));
+        boolean allMatch = true;
+        for (String s : samples) {
+            allMatch &= CodeUtil.md5(s).equals(DigestUtils.md5Hex(s))
+                    && CodeUtil.sha1(s).equals(DigestUtils.sha1Hex(s))
+                    && CodeUtil.sha256(s).equals(DigestUtils.sha256Hex(s));
+        }
+        allMatch &= CodeUtil.sha256All(samples).equals(samples.stream().map(DigestUtils::sha256Hex).toList());
+        allMatch &= CodeUtil.md5("").isEmpty() && CodeUtil.md5("  ").isEmpty() && CodeUtil.md5(null).isEmpty();
+        System.out.println(allMatch ? "✅ MD5 / SHA-1 / SHA-256 / 批量接口结果一致" : "❌ 多算法结果不匹配！");
+
+        // 4. 虚拟线程并发正确性 (池化实例不能串用状态)
+        String expected = DigestUtils.sha256Hex(testStr);
+        AtomicInteger mismatches = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 200; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        if (!expected.equals(CodeUtil.sha256(testStr))) mismatches.incrementAndGet();
+                    }
+                });
+            }
+        }
+        System.out.println(mismatches.get() == 0 ? "✅ 200 虚拟线程并发结果一致" : "❌ 并发结果错误: " + mismatches.get());
+
+        // 5. 批量接口 vs 逐个调用 DigestUtils
+        List<String> batch = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) batch.add("order-" + i + "-签名");
+        long batchTime = Long.MAX_VALUE;
+        long apacheBatchTime = Long.MAX_VALUE;
+        // 交替跑 3 轮取最好成绩，降低 GC 与编译时机带来的抖动
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            CodeUtil.sha256All(batch);
+            batchTime = Math.min(batchTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (String s : batch) DigestUtils.sha256Hex(s);
+            apacheBatchTime = Math.min(apacheBatchTime, System.nanoTime() - start);
+        }
+
+        System.out.println("--- 批量 SHA-256 (1,000,000 条) ---");
+        System.out.printf("CodeUtil.sha256All:            %d ms\n", batchTime / 1_000_000);
+        System.out.printf("Apache (DigestUtils) 逐个调用: %d ms\n", apacheBatchTime / 1_000_000);
+
+        // 6. 缓存键 / 分片路由：非加密哈希 vs md5
+        System.out.println(CodeUtil.xxHash64("abc".getBytes()) == 0x44BC2CF5AD770999L
+                ? "✅ xxHash64 官方测试向量一致" : "❌ xxHash64 测试向量不匹配！");
+        String cacheKey = "product:detail:1024:zh_CN";
+        long sink = 0;
+        long md5Time = Long.MAX_VALUE;
+        long xxTime = Long.MAX_VALUE;
+        long murmurTime = Long.MAX_VALUE;
+        long shardTime = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) sink += CodeUtil.md5(cacheKey).length();
+            md5Time = Math.min(md5Time, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) sink += CodeUtil.xxHash64(cacheKey);
+            xxTime = Math.min(xxTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) sink += CodeUtil.murmur3Hash128(cacheKey)[0];
+            murmurTime = Math.min(murmurTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) sink += CodeUtil.shard(cacheKey, 64);
+            shardTime = Math.min(shardTime, System.nanoTime() - start);
+        }
+        blackhole = sink;
+        System.out.println("--- 缓存键哈希 (1,000,000次，单次耗时) ---");
+        System.out.printf("md5:            %.1f ns\n", md5Time / (double) iterations);
+        System.out.printf("xxHash64:       %.1f ns\n", xxTime / (double) iterations);
+        System.out.printf("murmur3Hash128: %.1f ns\n", murmurTime / (double) iterations);
+        System.out.printf("shard (64 片):  %.1f ns\n", shardTime / (double) iterations);
+
+        // 7. HMAC-SHA256 签名校验：池化 Mac vs 每次 Mac.getInstance + init
+        byte[] apiKey = "gateway-secret-key-2026".getBytes(StandardCharsets.UTF_8);
+        String payload = "appId=1024&nonce=8f3a2c&timestamp=1767225600000&path=/api/order/create";
+        String expectedSign = naiveHmacSha256Hex(apiKey, payload);
+        boolean hmacOk = expectedSign.equals(CodeUtil.hmacSha256Hex(apiKey, payload))
+                && CodeUtil.verifyHmacHex("HmacSHA256", apiKey, payload, expectedSign.toUpperCase())
+                && !CodeUtil.verifyHmacHex("HmacSHA256", apiKey, payload + "&x=1", expectedSign);
+        System.out.println(hmacOk ? "✅ HMAC 签名与校验结果一致" : "❌ HMAC 结果不匹配！");
+
+        int hmacIterations = iterations / 5;
+        long pooledTime = Long.MAX_VALUE;
+        long naiveTime = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < hmacIterations; i++) {
+                if (CodeUtil.verifyHmacHex("HmacSHA256", apiKey, payload, expectedSign)) sink++;
+            }
+            pooledTime = Math.min(pooledTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < hmacIterations; i++) {
+                if (expectedSign.equals(naiveHmacSha256Hex(apiKey, payload))) sink++;
+            }
+            naiveTime = Math.min(naiveTime, System.nanoTime() - start);
+        }
+        blackhole = sink;
+        System.out.printf("--- HMAC-SHA256 校验 (%,d 次，单次耗时) ---\n", hmacIterations);
+        System.out.printf("CodeUtil.verifyHmacHex (池化):  %.0f ns\n", pooledTime / (double) hmacIterations);
+        System.out.printf("Mac.getInstance + init 每次调用: %.0f ns\n", naiveTime / (double) hmacIterations);
+
+        // 8. 文件摘要：hashFile 与 DigestUtils 一致；hashFileTree 与按块手工计算的树哈希一致
+        System.out.println(checkFileHashes() ? "✅ 文件摘要与 DigestUtils 结果一致" : "❌ 文件摘要结果不匹配！");
+
+        // 9. 多线程共用同一算法池：池化 md5 vs 每次 getInstance 的 DigestUtils (所有线程同时起跑，取 3 轮最好成绩)
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int perThread = iterations / threads;
+        String expectedMd5 = DigestUtils.md5Hex(cacheKey);
+        AtomicInteger contendedMismatches = new AtomicInteger();
+        long contendedPooled = Long.MAX_VALUE;
+        long contendedApache = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            contendedPooled = Math.min(contendedPooled, runContended(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (!expectedMd5.equals(CodeUtil.md5(cacheKey))) contendedMismatches.incrementAndGet();
+                }
+            }));
+            contendedApache = Math.min(contendedApache, runContended(threads, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (!expectedMd5.equals(DigestUtils.md5Hex(cacheKey))) contendedMismatches.incrementAndGet();
+                }
+            }));
+        }
+        System.out.println(contendedMismatches.get() == 0 ? "✅ 多线程共用池结果一致" : "❌ 多线程共用池结果错误: " + contendedMismatches.get());
+        System.out.printf("--- %d 线程并发 md5 (每线程 %,d 次，总耗时) ---\n", threads, perThread);
+        System.out.printf("CodeUtil.md5 (共用池):          %d ms\n", contendedPooled / 1_000_000);
+        System.out.printf("Apache (DigestUtils) 每次新建:  %d ms\n", contendedApache / 1_000_000);
+    }
+
+    /**
+     * 所有线程就绪后同时起跑，返回全部完成的耗时 (ns)
+     */
+    private static long runContended(int threads, Runnable task) {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run();
+            }));
+        }
+        try {
+            ready.await();
+            long start = System.nanoTime();
+            go.countDown();
+            for (Thread worker : workers) worker.join();
+            return System.nanoTime() - start;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean checkFileHashes() {
+        int chunkSize = 1 << 16;
+        int[] sizes = {0, 1, chunkSize - 1, chunkSize, chunkSize * 3 + 17};
+        boolean allMatch = true;
+        try {
+            for (int size : sizes) {
+                byte[] content = new byte[size];
+                new Random(size).nextBytes(content);
+                Path file = Files.createTempFile("code-util-hash", ".bin");
+                try {
+                    Files.write(file, content);
+                    allMatch &= CodeUtil.hashFile(file, "SHA-256").equals(DigestUtils.sha256Hex(content))
+                            && CodeUtil.hashFile(file, "MD5").equals(DigestUtils.md5Hex(content));
+
+                    ByteArrayOutputStream chunkDigests = new ByteArrayOutputStream();
+                    int from = 0;
+                    do {
+                        int to = Math.min(size, from + chunkSize);
+                        chunkDigests.writeBytes(DigestUtils.sha256(Arrays.copyOfRange(content, from, to)));
+                        from = to;
+                    } while (from < size);
+                    String expectedTree = DigestUtils.sha256Hex(chunkDigests.toByteArray());
+                    allMatch &= CodeUtil.hashFileTree(file, "SHA-256", chunkSize).join().equals(expectedTree);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return allMatch;
+    }
+
+    private static String naiveHmacSha256Hex(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.easy.mall.cloud.code;
+
+import com.easy.mall.cloud.util.CodeUtil;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * CodeUtil ID 生成器竞争压测：全局 CAS (nextId) 与块租约 (nextIdLeased) 对比
+ * 1. 长任务：负载形态同 BeanUtilBenchmark，200 个虚拟线程各自连续生成。
+ * 2. 短任务：一请求一虚拟线程，每个线程只生成少量 ID 即结束，检验租约对短命线程是否仍有效。
+ * 每轮结束后校验全部 ID 无重复，并打印 CodeUtil.idGeneratorStats()，可据此评估 CAS 重试与逻辑时间领先程度。
+ * 多核机器上的对比才有意义：单核时不存在真正的 CAS 竞争。
+ */
+public class IdGeneratorBenchmark {
+
+  private static final int THREAD_COUNT = 200;
+  private static final int OPS_PER_THREAD = 20_000;
+  private static final int SHORT_TASK_COUNT = 400_000;
+  private static final int OPS_PER_SHORT_TASK = 10;
+  private static final long WORKER_ID = 1L;
+
+  public static void main(String[] args) throws InterruptedException {
+    System.out.println("=== ID 生成器竞争压测 ===");
+    System.out.println("CPU 核数: " + Runtime.getRuntime().availableProcessors());
+    System.out.println("长任务: Virtual Threads x " + THREAD_COUNT + ", 每线程 " + OPS_PER_THREAD + " 个 ID");
+    System.out.println("短任务: Virtual Threads x " + SHORT_TASK_COUNT + ", 每线程 " + OPS_PER_SHORT_TASK + " 个 ID\n");
+
+    // 预热
+    runTest("预热 nextId", CodeUtil::nextId, THREAD_COUNT, OPS_PER_THREAD, false);
+    runTest("预热 nextIdLeased", CodeUtil::nextIdLeased, THREAD_COUNT, OPS_PER_THREAD, false);
+
+    runTest("长任务 nextId (全局 CAS)", CodeUtil::nextId, THREAD_COUNT, OPS_PER_THREAD, true);
+    runTest("长任务 nextIdLeased (条带租约)", CodeUtil::nextIdLeased, THREAD_COUNT, OPS_PER_THREAD, true);
+    runTest("短任务 nextId (全局 CAS)", CodeUtil::nextId, SHORT_TASK_COUNT, OPS_PER_SHORT_TASK, true);
+    runTest("短任务 nextIdLeased (条带租约)", CodeUtil::nextIdLeased, SHORT_TASK_COUNT, OPS_PER_SHORT_TASK, true);
+  }
+
+  private static void runTest(String label, LongUnaryOperator generator, int threads, int opsPerThread,
+                              boolean report) throws InterruptedException {
+    long[] ids = new long[threads * opsPerThread];
+    CountDownLatch latch = new CountDownLatch(threads);
+
+    CodeUtil.resetIdGeneratorStats();
+    long start = System.nanoTime();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < threads; i++) {
+        int base = i * opsPerThread;
+        executor.submit(() -> {
+          try {
+            for (int j = 0; j < opsPerThread; j++) ids[base + j] = generator.applyAsLong(WORKER_ID);
+          } finally {
+            latch.countDown();
+          }
+        });
+      }
+      latch.await();
+    }
+    long durationNs = System.nanoTime() - start;
+    if (!report) return;
+
+    Arrays.sort(ids);
+    int duplicates = 0;
+    for (int i = 1; i < ids.length; i++) {
+      if (ids[i] == ids[i - 1]) duplicates++;
+    }
+
+    System.out.printf("[%s] 结果报告:\n", label);
+    System.out.printf(" - 总耗时: %.2f ms\n", durationNs / 1_000_000.0);
+    System.out.printf(" - 吞吐量: %.0f ids/s\n", ids.length / (durationNs / 1_000_000_000.0));
+    System.out.printf(" - 重复 ID: %d %s\n", duplicates, duplicates == 0 ? "✅" : "❌");
+    CodeUtil.IdGeneratorStats stats = CodeUtil.idGeneratorStats();
+    System.out.printf(" - 状态预留: %d 次, CAS 重试: %d 次, 序列号溢出: %d 次\n", stats.attempts(), stats.retries(), stats.overflows());
+    System.out.printf(" - 时钟回拨: %d 次, 最大领先: %d ms\n\n", stats.rollbacks(), stats.maxDriftMillis());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.easy.mall.cloud.speed;
+
+import com.easy.mall.cloud.util.VectorUtil;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Zen3PowerTest 分支预测场景的对照组：同一条件求和分别用 带分支标量 / VectorUtil / 并行流 实现
+ * 运行参数加 --add-modules jdk.incubator.vector 走 SIMD，不加则走无分支标量实现。
+ */
+public class VectorKernelBenchmark {
+
+  private static final int SIZE = 65536;
+  private static final int ITERATIONS = 20_000;
+  private static final int THRESHOLD = 128;
+
+  public static void main(String[] args) {
+    System.out.println("--- VectorUtil 条件求和实测 ---");
+    System.out.println("运行环境: " + System.getProperty("java.version"));
+    System.out.println("当前实现: " + (VectorUtil.isVectorized() ? "SIMD (jdk.incubator.vector)" : "无分支标量"));
+    System.out.println("--------------------------------\n");
+
+    int[] data = new int[SIZE];
+    Random rnd = new Random(42);
+    for (int i = 0; i < SIZE; i++) data[i] = rnd.nextInt(256);
+    int[] sorted = data.clone();
+    Arrays.sort(sorted);
+
+    run("随机数组", data);
+    run("排序数组", sorted);
+  }
+
+  private static void run(String label, int[] data) {
+    System.out.println("[" + label + "] " + ITERATIONS + " 轮 x " + SIZE + " 个元素");
+    long expected = time("带分支标量", () -> branchy(data));
+    check(expected, time("VectorUtil", () -> vectorUtil(data)));
+    check(expected, time("并行流 (1/100 轮)", () -> parallelStream(data)));
+    System.out.println();
+  }
+
+  private static long branchy(int[] data) {
+    long sum = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      for (int val : data) {
+        if (val >= THRESHOLD) sum += val;
+      }
+    }
+    return sum;
+  }
+
+  private static long vectorUtil(int[] data) {
+    long sum = 0;
+    for (int i = 0; i < ITERATIONS; i++) sum += VectorUtil.sumAtLeast(data, THRESHOLD);
+    return sum;
+  }
+
+  private static long parallelStream(int[] data) {
+    long sum = 0;
+    for (int i = 0; i < ITERATIONS / 100; i++) {
+      sum += IntStream.of(data).parallel().filter(v -> v >= THRESHOLD).asLongStream().sum();
+    }
+    // 并行流单轮调度开销大，只跑 1/100 的轮数后折算
+    return sum * 100;
+  }
+
+  private static long time(String name, LongSupplier task) {
+    long start = System.currentTimeMillis();
+    long result = task.getAsLong();
+    System.out.printf("  > %-16s: %d ms%n", name, System.currentTimeMillis() - start);
+    return result;
+  }
+
+  private static void check(long expected, long actual) {
+    if (expected != actual) throw new IllegalStateException("结果不一致: " + expected + " != " + actual);
+  }
+}
\ No newline at end of file
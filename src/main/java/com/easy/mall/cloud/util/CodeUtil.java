@@ -1,16 +1,46 @@
 package com.easy.mall.cloud.util;
 
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.random.RandomGenerator;
 
 public final class CodeUtil {
@@ -22,84 +52,162 @@ public final class CodeUtil {
   private static final long WORKER_SHIFT = SEQUENCE_BITS;
   private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
   private static final AtomicLong LAST_STATE = new AtomicLong(-1L);
-
-  private static final RandomGenerator RNG = RandomGenerator.of("L64X128MixRandom");
+  // 条带数 (2 的幂，不少于核数的 2 倍)：线程按 threadId 固定落在某个条带，代替 ThreadLocal 状态
+  private static final int STRIPES = Integer.highestOneBit(Math.max(2, Runtime.getRuntime().availableProcessors() * 2) - 1) << 1;
+  // 租约按条带共享而非线程本地：一请求一虚拟线程时，线程本地租约每次都从 1 开始，线程结束时剩余槽位白白消耗
+  private static final IdLease[] ID_LEASES = newLeases();
+  // 所有条带同时满租也只占每毫秒序列号的一半，不会仅因租约把逻辑时间推到系统时钟之前
+  private static final int MAX_LEASE_BLOCK = (int) Math.max(1, (MAX_SEQUENCE + 1) / 2 / ID_LEASES.length);
+  private static final IdMetrics ID_METRICS = new IdMetrics();
+  private static final IdMetrics TIME_METRICS = new IdMetrics();
+
+  // UUID v7 的上次 tick，每个条带一份，相邻条带间隔 8 个 long (64 字节) 避免伪共享；随机位取自 ThreadLocalRandom
+  private static final int UUID_TICK_STRIDE = 8;
+  private static final AtomicLongArray UUID_TICKS = new AtomicLongArray(STRIPES * UUID_TICK_STRIDE);
+  // 根生成器只为 randomCodes 批次派生独立生成器，派生需加锁 (每批一次，不在单个码的热路径上)
+  private static final RandomGenerator.SplittableGenerator ROOT_RNG = RandomGenerator.SplittableGenerator.of("L64X128MixRandom");
+  private static final long MAP_WINDOW = 1L << 26;     // 64MB
+  private static final int TREE_CHUNK_SIZE = 1 << 23;  // 8MB
+  private static final byte[] BASE64_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.ISO_8859_1);
+  private static final int BASE64_PAD = -2;
+  private static final int[] BASE64_DECODE = new int[256];
+  private static final byte[] EMPTY_BYTES = new byte[0];
   private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
   private static final char[] ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
-  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
   private static final ZoneId ZONE_ID = ZoneId.systemDefault();
 
-  // TimeCode 状态: 高 48 位存 epochSecond，低 16 位存 sequence
+  // TimeCode 状态: 最后发放的槽位 = epochSecond * 10000 + sequence
+  private static final long TIME_SEQUENCE_SPAN = 10_000L;
   private static final AtomicLong TIME_STATE = new AtomicLong(0L);
-  private static final AtomicReference<TimeCache> TIME_CACHE = new AtomicReference<>(new TimeCache(0L, ""));
+  private static volatile TimeBase timeBase = TimeBase.of(System.currentTimeMillis() / 1000, ZONE_ID.getRules());
+
+  static {
+    Arrays.fill(BASE64_DECODE, -1);
+    for (int i = 0; i < BASE64_ALPHABET.length; i++) BASE64_DECODE[BASE64_ALPHABET[i]] = i;
+    BASE64_DECODE['='] = BASE64_PAD;
+  }
 
   /**
    * 高性能 UUID v7 (趋势递增，RFC 9562 标准)
+   * rand_a 的 12 位存放毫秒内的亚毫秒时间 (RFC 9562 6.2 方法 3)；tick 按条带单调递增，同一线程生成的 UUID 严格递增。
    */
   public static String uuid() {
-    long ms = System.currentTimeMillis();
-    long msb = (ms << 16) | (0x7L << 12) | (RNG.nextLong() & 0xFFFL);
-    long lsb = (RNG.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
-
-    char[] out = new char[36];
-    formatHex(out, 0, 8, msb >> 32);
-    out[8] = '-';
-    formatHex(out, 9, 4, msb >> 16);
-    out[13] = '-';
-    formatHex(out, 14, 4, msb);
-    out[18] = '-';
-    formatHex(out, 19, 4, lsb >> 48);
-    out[23] = '-';
-    formatHex(out, 24, 12, lsb);
-    return new String(out);
+    byte[] out = new byte[36];
+    writeUuidAscii(out, 0, true);
+    return new String(out, StandardCharsets.ISO_8859_1);
   }
 
   /**
    * 高性能 32 位无横线 UUID v7
    */
   public static String simpleUUID() {
-    long ms = System.currentTimeMillis();
-    long msb = (ms << 16) | (0x7L << 12) | (RNG.nextLong() & 0xFFFL);
-    long lsb = (RNG.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
-
-    char[] out = new char[32];
-    formatHex(out, 0, 8, msb >> 32);
-    formatHex(out, 8, 4, msb >> 16);
-    formatHex(out, 12, 4, msb);
-    formatHex(out, 16, 4, lsb >> 48);
-    formatHex(out, 20, 12, lsb);
-    return new String(out);
+    byte[] out = new byte[32];
+    writeUuidAscii(out, 0, false);
+    return new String(out, StandardCharsets.ISO_8859_1);
+  }
+
+  public static UUID uuid7() {
+    return new UUID(nextUuidMsb(), nextUuidLsb());
   }
 
   /**
-   * 19位业务时间流水号，yyyyMMddHHmmss + workerId + sequence
+   * 将 UUID v7 的高、低 64 位写入 out[offset]、out[offset + 1]
    */
-  public static long generateTimeLong(int workerId) {
-    if (workerId < 0 || workerId > 9) throw new IllegalArgumentException("机器码范围应在0-9之间");
+  public static void uuid7(long[] out, int offset) {
+    out[offset] = nextUuidMsb();
+    out[offset + 1] = nextUuidLsb();
+  }
+
+  /**
+   * 16 字节大端序 UUID v7，可直接作为 BINARY(16) 主键
+   */
+  public static byte[] uuid7Bytes() {
+    byte[] out = new byte[16];
+    uuid7Bytes(out, 0);
+    return out;
+  }
+
+  public static void uuid7Bytes(byte[] dest, int offset) {
+    long msb = nextUuidMsb(), lsb = nextUuidLsb();
+    for (int i = 0; i < 8; i++) {
+      dest[offset + i] = (byte) (msb >>> (56 - 8 * i));
+      dest[offset + 8 + i] = (byte) (lsb >>> (56 - 8 * i));
+    }
+  }
+
+  /**
+   * 将 UUID v7 文本写入调用方的 char[]，dashed 为 true 时 36 位带横线，否则 32 位；返回写入结束位置
+   */
+  public static int writeUuid(char[] dest, int offset, boolean dashed) {
+    return formatUuid(dest, offset, dashed);
+  }
+
+  /**
+   * 同 writeUuid，以 ASCII 字节写入 byte[] (适合直接写出到网络或文件缓冲区)
+   */
+  public static int writeUuidAscii(byte[] dest, int offset, boolean dashed) {
+    return formatUuid(dest, offset, dashed);
+  }
 
+  /**
+   * writeUuid / writeUuidAscii 的共用实现，dest 为 char[] 或 byte[]
+   */
+  private static int formatUuid(Object dest, int offset, boolean dashed) {
+    long msb = nextUuidMsb(), lsb = nextUuidLsb();
+    int pos = formatHex(dest, offset, 8, msb >> 32, dashed);
+    pos = formatHex(dest, pos, 4, msb >> 16, dashed);
+    pos = formatHex(dest, pos, 4, msb, dashed);
+    pos = formatHex(dest, pos, 4, lsb >> 48, dashed);
+    return formatHex(dest, pos, 12, lsb, false);
+  }
+
+  /**
+   * 生成下一个 UUID v7 的高 64 位：tick 在当前线程所属条带上 CAS 递增
+   */
+  private static long nextUuidMsb() {
+    Instant now = Instant.now();
+    // tick = 毫秒 << 12 | 亚毫秒分数 (1/4096 毫秒)
+    long tick = (now.getEpochSecond() * 1000 + now.getNano() / 1_000_000) << 12
+        | (now.getNano() % 1_000_000 * 4096L / 1_000_000);
+    int index = stripe() * UUID_TICK_STRIDE;
     while (true) {
-      long currentSec = System.currentTimeMillis() / 1000;
-      long state = TIME_STATE.get();
-      long lastSec = state >> 16;
-      int lastSeq = (int) (state & 0xFFFF);
-
-      long nextSec = currentSec;
-      int nextSeq = 0;
-
-      if (currentSec <= lastSec) {
-        nextSec = lastSec;
-        nextSeq = lastSeq + 1;
-        if (nextSeq > 9999) { // 单秒溢出，逻辑推秒
-          nextSec = lastSec + 1;
-          nextSeq = 0;
-        }
-      }
+      long last = UUID_TICKS.get(index);
+      // 时钟精度不足或回拨时沿上次 tick 递增，溢出自然进位到下一毫秒，保证条带内 (即线程内) 严格递增
+      long next = tick > last ? tick : last + 1;
+      if (UUID_TICKS.compareAndSet(index, last, next)) return (next >>> 12) << 16 | 0x7L << 12 | (next & 0xFFFL);
+    }
+  }
 
-      if (TIME_STATE.compareAndSet(state, (nextSec << 16) | nextSeq)) {
-        String timeStr = getFormattedTime(nextSec);
-        // 14位日期 + 1位worker + 4位序列 = 19位
-        return Long.parseLong(timeStr) * 100000L + (workerId * 10000L) + nextSeq;
+  private static long nextUuidLsb() {
+    return (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+  }
+
+  /**
+   * 19位业务时间流水号，yyyyMMddHHmmss + workerId + sequence
+   */
+  public static long generateTimeLong(int workerId) {
+    checkTimeWorkerId(workerId);
+    long slot = reserveTime(1);
+    return timeLong(slot / TIME_SEQUENCE_SPAN, workerId, slot % TIME_SEQUENCE_SPAN);
+  }
+
+  /**
+   * 批量生成 n 个时间流水号写入 out[0, n)：一次状态变更预留整段序列号，超过 9999 时自动进位到下一秒
+   */
+  public static void generateTimeLongs(int workerId, int n, long[] out) {
+    checkTimeWorkerId(workerId);
+    checkBatch(n, out);
+    if (n == 0) return;
+    long slot = reserveTime(n);
+    long second = -1;
+    long base = 0;
+    for (int i = 0; i < n; i++, slot++) {
+      long sec = slot / TIME_SEQUENCE_SPAN;
+      if (sec != second) {
+        second = sec;
+        base = timeLong(sec, workerId, 0);
       }
+      out[i] = base + slot % TIME_SEQUENCE_SPAN;
     }
   }
 
@@ -108,54 +216,217 @@ public final class CodeUtil {
   }
 
   public static long nextId(long workerId) {
-    while (true) {
-      long currentMs = System.currentTimeMillis();
-      long state = LAST_STATE.get();
-
-      // 状态机拆解
-      long lastMs = state >> SEQUENCE_BITS;
-      int lastSeq = (int) (state & MAX_SEQUENCE);
+    return composeId(reserve(1), workerId);
+  }
 
-      long nextMs = currentMs;
-      int nextSeq = 0;
+  /**
+   * 批量生成 n 个 ID 写入 out[0, n)：一次 CAS 预留连续槽位，序列号溢出时自动进位到下一毫秒
+   */
+  public static void nextIds(long workerId, int n, long[] out) {
+    checkBatch(n, out);
+    if (n == 0) return;
+    long slot = reserve(n);
+    for (int i = 0; i < n; i++) out[i] = composeId(slot + i, workerId);
+  }
 
-      if (currentMs < lastMs) {
-        // 发生时钟回拨：利用逻辑时间继续递增
-        nextMs = lastMs;
-        nextSeq = lastSeq + 1;
-      } else if (currentMs == lastMs) {
-        // 同一毫秒内自增
-        nextSeq = lastSeq + 1;
+  /**
+   * 块租约版 nextId：条带一次 CAS 从全局状态租下一段连续序列号，之后由落在该条带的线程就地发放
+   * 1. 位布局与 nextId 相同，两者可混用且互不重复。
+   * 2. 条带数为核数的 2 倍，线程按 threadId 散列到条带；短命的虚拟线程同样复用已有租约。
+   * 3. 条带被占用时不等待，直接走 nextId 的全局 CAS，因此不会阻塞或钉住载体线程。
+   * 4. 租约只在其毫秒内有效，过期的剩余序列号直接丢弃，保证 ID 与时间大致同序。
+   * 5. 块大小按条带自适应 (1~MAX_LEASE_BLOCK)：租约用完则翻倍，过期作废则减半，低频时几乎不浪费序列号。
+   * 6. 不同条带的租约交错，同一毫秒内的 ID 只保证唯一，不保证全局严格递增。
+   */
+  public static long nextIdLeased(long workerId) {
+    IdLease lease = ID_LEASES[stripe()];
+    if (!lease.lock.tryLock()) return composeId(reserve(1), workerId);
+    try {
+      long currentMs = System.currentTimeMillis();
+      if (lease.next < lease.end && lease.next >> SEQUENCE_BITS >= currentMs) {
+        return composeId(lease.next++, workerId);
       }
 
-      // 检查序列号溢出
-      if (nextSeq > MAX_SEQUENCE) {
-        // 强制推演到下一毫秒，确保 ID 绝不重复且有序
-        nextMs = lastMs + 1;
-        nextSeq = 0;
-      }
+      if (lease.next < lease.end) lease.blockSize = Math.max(1, lease.blockSize >> 1);
+      else if (lease.end != 0) lease.blockSize = Math.min(MAX_LEASE_BLOCK, lease.blockSize << 1);
+      long first = reserve(lease.blockSize);
+      lease.next = first + 1;
+      lease.end = first + lease.blockSize;
+      return composeId(first, workerId);
+    } finally {
+      lease.lock.unlock();
+    }
+  }
+
+  /**
+   * 当前线程所属的条带 [0, STRIPES)，同一线程始终相同
+   */
+  private static int stripe() {
+    // 黄金分割散列，连续的 threadId 也能均匀落到各条带
+    return (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32) & (STRIPES - 1);
+  }
 
+  private static IdLease[] newLeases() {
+    IdLease[] leases = new IdLease[STRIPES];
+    for (int i = 0; i < leases.length; i++) leases[i] = new IdLease();
+    return leases;
+  }
+
+  /**
+   * 预留 count 个连续槽位，返回第一个槽位
+   * 槽位 = (毫秒 << SEQUENCE_BITS) | 序列号，序列号溢出时自然进位到下一毫秒，因此一段连续槽位可跨越毫秒；
+   * 新槽位不早于当前毫秒的首个槽位，发生时钟回拨时沿上次状态继续递增。
+   */
+  private static long reserve(int count) {
+    long seen = ID_METRICS.lastWallClock();
+    long now = System.currentTimeMillis();
+    long floor = now << SEQUENCE_BITS;
+    int retry = 0;
+    while (true) {
+      long state = LAST_STATE.get();
+      long first = Math.max(state + 1, floor);
+      long last = first + count - 1;
       // CAS 保证线程安全：一次性更新时间戳和序列号
-      if (LAST_STATE.compareAndSet(state, (nextMs << SEQUENCE_BITS) | nextSeq)) {
-        return ((nextMs - EPOCH) << TIMESTAMP_SHIFT)
-            | (workerId << WORKER_SHIFT)
-            | nextSeq;
+      if (LAST_STATE.compareAndSet(state, last)) {
+        // 本段跨越毫秒，或沿上次状态递增且落在新毫秒的首个序列号，即序列号用尽
+        boolean overflow = last >> SEQUENCE_BITS > first >> SEQUENCE_BITS || first > floor && (first & MAX_SEQUENCE) == 0;
+        ID_METRICS.record(now, seen, count, retry, overflow, (last >> SEQUENCE_BITS) - now);
+        return first;
       }
       // 竞争失败，Spin-lock 重试
+      retry++;
+    }
+  }
+
+  /**
+   * 预留 count 个连续的时间流水号槽位，返回第一个槽位
+   * 槽位 = 秒 * 10000 + 序列号，规则同 reserve：单秒溢出逻辑推秒，时钟回拨时沿上次状态继续递增。
+   */
+  private static long reserveTime(int count) {
+    long seen = TIME_METRICS.lastWallClock();
+    long now = System.currentTimeMillis();
+    long floor = now / 1000 * TIME_SEQUENCE_SPAN;
+    int retry = 0;
+    while (true) {
+      long state = TIME_STATE.get();
+      long first = Math.max(state + 1, floor);
+      long last = first + count - 1;
+      if (TIME_STATE.compareAndSet(state, last)) {
+        boolean overflow = last / TIME_SEQUENCE_SPAN > first / TIME_SEQUENCE_SPAN || first > floor && first % TIME_SEQUENCE_SPAN == 0;
+        TIME_METRICS.record(now, seen, count, retry, overflow, (last / TIME_SEQUENCE_SPAN - now / 1000) * 1000);
+        return first;
+      }
+      retry++;
+    }
+  }
+
+  /**
+   * ID 生成器运行统计，各项自上次 reset 起累计 (分别求和，非原子快照)
+   *
+   * @param attempts       状态预留次数 (nextIdLeased 只在续租时计一次)
+   * @param slots          预留出的槽位总数
+   * @param retries        CAS 竞争失败的重试次数
+   * @param overflows      序列号用尽、逻辑时间被推进的预留次数
+   * @param rollbacks      观测到的时钟回拨次数
+   * @param maxDriftMillis 逻辑时间领先系统时钟的最大毫秒数 (时间流水号按秒计，取整到 1000 的倍数)
+   */
+  public record IdGeneratorStats(long attempts, long slots, long retries, long overflows, long rollbacks,
+                                 long maxDriftMillis) {
+  }
+
+  /**
+   * nextId / nextIds / nextIdLeased 的统计
+   */
+  public static IdGeneratorStats idGeneratorStats() {
+    return ID_METRICS.snapshot();
+  }
+
+  /**
+   * generateTimeLong / generateTimeLongs / generateTimeCode 的统计
+   */
+  public static IdGeneratorStats timeCodeStats() {
+    return TIME_METRICS.snapshot();
+  }
+
+  public static void resetIdGeneratorStats() {
+    ID_METRICS.reset();
+    TIME_METRICS.reset();
+  }
+
+  /**
+   * 将两组统计注册到平台 MBeanServer：
+   * com.easy.mall.cloud.util:type=CodeUtil,name=IdGenerator 与 name=TimeCode；重复调用无副作用
+   */
+  public static void registerIdGeneratorMBeans() {
+    registerMBean("IdGenerator", ID_METRICS);
+    registerMBean("TimeCode", TIME_METRICS);
+  }
+
+  private static void registerMBean(String name, IdGeneratorMXBean bean) {
+    try {
+      ObjectName objectName = new ObjectName("com.easy.mall.cloud.util:type=CodeUtil,name=" + name);
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (!server.isRegistered(objectName)) server.registerMBean(bean, objectName);
+    } catch (InstanceAlreadyExistsException ignored) {
+      // 并发注册，已由其他线程完成
+    } catch (JMException e) {
+      throw new IllegalStateException("注册 MBean 失败: " + name, e);
     }
   }
 
+  private static long timeLong(long second, int workerId, long sequence) {
+    // 14位日期 + 1位worker + 4位序列 = 19位
+    return yyyyMMddHHmmss(second) * 100000L + (workerId * 10000L) + sequence;
+  }
+
+  private static void checkTimeWorkerId(int workerId) {
+    if (workerId < 0 || workerId > 9) throw new IllegalArgumentException("机器码范围应在0-9之间");
+  }
+
+  private static void checkBatch(int n, long[] out) {
+    if (n < 0 || out == null || out.length < n) throw new IllegalArgumentException("n 不能为负且不能超过 out 长度");
+  }
+
+  private static long composeId(long slot, long workerId) {
+    return (((slot >> SEQUENCE_BITS) - EPOCH) << TIMESTAMP_SHIFT)
+        | (workerId << WORKER_SHIFT)
+        | (slot & MAX_SEQUENCE);
+  }
+
   /**
    * 纯随机码生成
    */
   public static String randomCode(int length) {
+    RandomGenerator rng = ThreadLocalRandom.current();
     char[] out = new char[length];
     for (int i = 0; i < length; i++) {
-      out[i] = ALPHANUMERIC[RNG.nextInt(ALPHANUMERIC.length)];
+      out[i] = ALPHANUMERIC[rng.nextInt(ALPHANUMERIC.length)];
     }
     return new String(out);
   }
 
+  /**
+   * 并行批量生成 n 个互不相同的随机码，字符集同 randomCode，length 范围 1-10，n 不超过码空间的一半
+   * 按顺序连续写入返回的 char[]：第 i 个码为 new String(arena, i * length, length)。
+   * 去重基于码对应的 long 值 (位图或 Bloom 过滤器)，不经过 HashSet&lt;String&gt;；只保证本批次内唯一。
+   */
+  public static char[] randomCodes(int n, int length) {
+    return new CouponGenerator(n, length, splitRoot()).toArena();
+  }
+
+  /**
+   * 同 randomCodes(n, length)，直接写入文件，每行一个码 (ASCII，以 \n 结尾)；已存在的文件会被覆盖
+   */
+  public static void randomCodes(int n, int length, Path file) {
+    new CouponGenerator(n, length, splitRoot()).toFile(file);
+  }
+
+  private static RandomGenerator.SplittableGenerator splitRoot() {
+    synchronized (ROOT_RNG) {
+      return ROOT_RNG.split();
+    }
+  }
+
   public static String md5(String str) {
     return hash("MD5", str);
   }
@@ -168,6 +439,279 @@ public final class CodeUtil {
     return hash("SHA-256", str);
   }
 
+  public static List<String> md5All(List<String> strs) {
+    return hashAll("MD5", strs);
+  }
+
+  public static List<String> sha1All(List<String> strs) {
+    return hashAll("SHA-1", strs);
+  }
+
+  public static List<String> sha256All(List<String> strs) {
+    return hashAll("SHA-256", strs);
+  }
+
+  /**
+   * 批量哈希：整批复用同一个摘要实例与缓冲区，结果与输入一一对应，空白元素对应 ""
+   */
+  public static List<String> hashAll(String algorithm, List<String> strs) {
+    if (ObjUtil.isEmpty(strs)) return new ArrayList<>();
+    return DigestPool.of(algorithm).hashHexAll(strs);
+  }
+
+  // --- [ HMAC ] ---
+
+  public static byte[] hmacSha256(byte[] key, byte[] data) {
+    return hmac("HmacSHA256", key, data);
+  }
+
+  /**
+   * 对 data 的 UTF-8 编码签名，返回小写十六进制
+   */
+  public static String hmacSha256Hex(byte[] key, String data) {
+    return HexFormat.of().formatHex(hmacSha256(key, data.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  public static byte[] hmacSha1(byte[] key, byte[] data) {
+    return hmac("HmacSHA1", key, data);
+  }
+
+  public static String hmacSha1Hex(byte[] key, String data) {
+    return HexFormat.of().formatHex(hmacSha1(key, data.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * 按 (algorithm, key) 复用已初始化的 Mac 实例，省去每次 Mac.getInstance + init
+   * 缓存的密钥数有上限 (code.util.hmac.maxKeys，默认 1024)，超出时近似按最久未用淘汰。
+   */
+  public static byte[] hmac(String algorithm, byte[] key, byte[] data) {
+    return MacPool.of(algorithm, key).mac(mac -> mac.update(data));
+  }
+
+  /**
+   * 对 buffer 的剩余字节 [position, limit) 签名，不改变 position；堆内存与直接内存均不做整体拷贝
+   */
+  public static byte[] hmac(String algorithm, byte[] key, ByteBuffer data) {
+    ByteBuffer view = data.duplicate();
+    return MacPool.of(algorithm, key).mac(mac -> mac.update(view));
+  }
+
+  /**
+   * 校验签名：以 MessageDigest.isEqual 做常量时间比较，耗时与签名在第几个字节不同无关
+   */
+  public static boolean verifyHmac(String algorithm, byte[] key, byte[] data, byte[] signature) {
+    return signature != null && MessageDigest.isEqual(hmac(algorithm, key, data), signature);
+  }
+
+  public static boolean verifyHmac(String algorithm, byte[] key, ByteBuffer data, byte[] signature) {
+    return signature != null && MessageDigest.isEqual(hmac(algorithm, key, data), signature);
+  }
+
+  /**
+   * 校验十六进制签名 (大小写均可)，data 按 UTF-8 编码；签名不是合法十六进制时返回 false
+   */
+  public static boolean verifyHmacHex(String algorithm, byte[] key, String data, String signatureHex) {
+    if (signatureHex == null) return false;
+    byte[] signature;
+    try {
+      signature = HexFormat.of().parseHex(signatureHex);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    return verifyHmac(algorithm, key, data.getBytes(StandardCharsets.UTF_8), signature);
+  }
+
+  // --- [ 非加密哈希 ] ---
+
+  /**
+   * xxHash64 (种子 0)，用于缓存键、分片路由等无需抗碰撞攻击的场景，比 md5 快一到两个数量级
+   */
+  public static long xxHash64(byte[] data) {
+    return data == null ? xxHash64(EMPTY_BYTES, 0, 0, 0L) : xxHash64(data, 0, data.length, 0L);
+  }
+
+  public static long xxHash64(byte[] data, int offset, int length, long seed) {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    return FastHash.xxHash64(data, offset, length, seed);
+  }
+
+  /**
+   * 按 UTF-16 码元的小端字节计算 (不含孤立代理字符时等价于 xxHash64(str.getBytes(UTF_16LE)))，不产生中间 byte[]；null 视为空串
+   */
+  public static long xxHash64(String str) {
+    if (str == null) str = "";
+    return FastHash.xxHash64(FastHash.STRING, str, 0, str.length() << 1, 0L);
+  }
+
+  /**
+   * 对 buffer 的剩余字节 [position, limit) 计算，不改变 position
+   */
+  public static long xxHash64(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return FastHash.xxHash64(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), 0L);
+    }
+    ByteBuffer le = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    return FastHash.xxHash64(FastHash.BUFFER, le, buffer.position(), buffer.remaining(), 0L);
+  }
+
+  /**
+   * 等价于对 value 的 8 个小端字节计算 xxHash64
+   */
+  public static long xxHash64(long value) {
+    return FastHash.xxHash64(value, 0L);
+  }
+
+  /**
+   * MurmurHash3 x64_128 (种子 0)，返回 {h1, h2}
+   */
+  public static long[] murmur3Hash128(byte[] data) {
+    if (data == null) data = EMPTY_BYTES;
+    return FastHash.murmur3Hash128(data, 0, data.length, 0);
+  }
+
+  /**
+   * 按 UTF-16 码元的小端字节计算，不产生中间 byte[]；null 视为空串
+   */
+  public static long[] murmur3Hash128(String str) {
+    if (str == null) str = "";
+    return FastHash.murmur3Hash128(FastHash.STRING, str, 0, str.length() << 1, 0);
+  }
+
+  public static long[] murmur3Hash128(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return FastHash.murmur3Hash128(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), 0);
+    }
+    ByteBuffer le = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    return FastHash.murmur3Hash128(FastHash.BUFFER, le, buffer.position(), buffer.remaining(), 0);
+  }
+
+  /**
+   * Jump Consistent Hash：把 key 映射到 [0, buckets)，扩容时只有约 1/buckets 的键迁移
+   */
+  public static int jumpConsistentHash(long key, int buckets) {
+    return FastHash.jumpConsistentHash(key, buckets);
+  }
+
+  /**
+   * 分片路由：xxHash64 打散后做一致性哈希，连续的 ID 也能均匀分布
+   */
+  public static int shard(long key, int shards) {
+    return FastHash.jumpConsistentHash(xxHash64(key), shards);
+  }
+
+  public static int shard(String key, int shards) {
+    return FastHash.jumpConsistentHash(xxHash64(key), shards);
+  }
+
+  /**
+   * 文件摘要 (小写十六进制)，结果与对文件全部字节求 algorithm 摘要相同
+   * 按 64MB 窗口做只读内存映射后流式送入摘要，不会把整个文件读进堆内；
+   * 注意 MessageDigest.update(ByteBuffer) 对非堆缓冲区仍会分段拷贝到临时 byte[] 再计算，并非零拷贝。
+   */
+  public static String hashFile(Path path, String algorithm) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      return DigestPool.of(algorithm).digestHex(md -> updateMapped(md, channel, 0, size));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static CompletableFuture<String> hashFileTree(Path path, String algorithm) {
+    return hashFileTree(path, algorithm, TREE_CHUNK_SIZE);
+  }
+
+  /**
+   * 并行树哈希：文件按 chunkSize 切块后并行求摘要，根摘要 = algorithm(各块摘要按顺序拼接)
+   * 1. 打开文件与各块摘要都在专用的文件哈希线程池上执行 (内存映射的缺页是阻塞 I/O)，调用线程不参与计算，只拿到 Future。
+   * 2. 线程池内只做任务编排，不阻塞等待其他任务，池再小也不会死锁。
+   * 注意结果与 hashFile 不同，且依赖 chunkSize，比对双方必须使用相同的算法与块大小。
+   * 可调参数 (系统属性)：code.util.fileHash.threads 线程数，默认 CPU 核数
+   */
+  public static CompletableFuture<String> hashFileTree(Path path, String algorithm, int chunkSize) {
+    if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize 必须大于 0");
+    DigestPool pool = DigestPool.of(algorithm);
+    Executor executor = FileHashExecutor.INSTANCE;
+    return CompletableFuture.supplyAsync(() -> openRead(path), executor).thenCompose(channel -> {
+      try {
+        long size = channel.size();
+        int chunks = Math.toIntExact(Math.max(1, (size + chunkSize - 1) / chunkSize));
+        List<CompletableFuture<byte[]>> digests = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+          long from = (long) i * chunkSize;
+          long to = Math.min(size, from + chunkSize);
+          digests.add(CompletableFuture.supplyAsync(() -> pool.digest(md -> updateMapped(md, channel, from, to)), executor));
+        }
+        return CompletableFuture.allOf(digests.toArray(CompletableFuture[]::new))
+            .thenApply(done -> pool.digestHex(md -> {
+              for (CompletableFuture<byte[]> digest : digests) md.update(digest.join());
+            }))
+            .whenComplete((hex, error) -> closeQuietly(channel));
+      } catch (IOException | RuntimeException e) {
+        closeQuietly(channel);
+        return CompletableFuture.failedFuture(e instanceof IOException io ? new UncheckedIOException(io) : e);
+      }
+    });
+  }
+
+  private static FileChannel openRead(Path path) {
+    try {
+      return FileChannel.open(path, StandardOpenOption.READ);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // 只读通道关闭失败不影响已算出的摘要
+    }
+  }
+
+  private static void updateMapped(MessageDigest md, FileChannel channel, long from, long to) {
+    try {
+      for (long pos = from; pos < to; pos += MAP_WINDOW) {
+        md.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_WINDOW, to - pos)));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // --- [ 密码哈希 ] ---
+
+  /**
+   * 密码哈希线程池的运行统计；排队耗时为任务从提交到开始执行的等待时间
+   *
+   * @param submitted 提交总数 (含被拒绝的)
+   * @param rejected  因队列已满被立即拒绝的数量
+   * @param completed 已执行完成的数量
+   */
+  public record PasswordStats(long submitted, long rejected, long completed, int queued, int active,
+                              long avgQueueNanos, long maxQueueNanos) {
+  }
+
+  /**
+   * 在专用平台线程池中编码密码 (默认 BCrypt)，结果形如 {bcrypt}$2a$10$...
+   * 线程池队列已满时返回以 RejectedExecutionException 失败的 Future，不会阻塞调用方。
+   */
+  public static CompletableFuture<String> encodePassword(CharSequence rawPassword) {
+    return PasswordExecutor.instance().encode(rawPassword);
+  }
+
+  /**
+   * 在专用平台线程池中校验密码，兼容 {id} 前缀的密文与无前缀的 BCrypt 密文
+   */
+  public static CompletableFuture<Boolean> matchesPassword(CharSequence rawPassword, String encodedPassword) {
+    return PasswordExecutor.instance().matches(rawPassword, encodedPassword);
+  }
+
+  public static PasswordStats passwordStats() {
+    return PasswordExecutor.instance().stats();
+  }
+
   public static String base64(String s) {
     return Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
   }
@@ -180,31 +724,38 @@ public final class CodeUtil {
     if (ObjUtil.isBlank(str)) {
       return "";
     }
-    try {
-      MessageDigest md = MessageDigest.getInstance(algorithm);
-      byte[] digest = md.digest(str.getBytes(StandardCharsets.UTF_8));
-      return HexFormat.of().formatHex(digest);
-    } catch (NoSuchAlgorithmException e) {
-      throw new IllegalStateException("JVM environment error: " + algorithm + " not found", e);
-    }
+    return DigestPool.of(algorithm).hashHex(str);
   }
 
-  private static void formatHex(char[] dest, int offset, int len, long val) {
-    for (int i = offset + len - 1; i >= offset; i--) {
-      dest[i] = HEX_DIGITS[(int) (val & 0xF)];
-      val >>= 4;
+  /**
+   * 将 val 的低 len 个十六进制位写入 dest (char[] 或 byte[])，dash 为 true 时再补一个 '-'；返回写入结束位置
+   */
+  private static int formatHex(Object dest, int offset, int len, long val, boolean dash) {
+    int end = offset + len;
+    char[] chars = dest instanceof char[] c ? c : null;
+    byte[] bytes = chars == null ? (byte[]) dest : null;
+    for (int i = end - 1; i >= offset; i--, val >>= 4) {
+      char digit = HEX_DIGITS[(int) (val & 0xF)];
+      if (chars != null) chars[i] = digit;
+      else bytes[i] = (byte) digit;
     }
+    if (!dash) return end;
+    if (chars != null) chars[end] = '-';
+    else bytes[end] = '-';
+    return end + 1;
   }
 
-  private static String getFormattedTime(long second) {
-    TimeCache current = TIME_CACHE.get();
-    if (current.second == second) {
-      return current.formatted;
+  /**
+   * 秒级时间戳转 yyyyMMddHHmmss 数值：命中当前 TimeBase 时只做整数运算，无 String 与对象分配
+   */
+  private static long yyyyMMddHHmmss(long second) {
+    TimeBase base = timeBase;
+    if (second < base.validFrom || second >= base.validTo) {
+      // 跨天或跨越时区偏移变化 (夏令时) 时重建，每个区间只发生一次
+      base = TimeBase.of(second, ZONE_ID.getRules());
+      timeBase = base;
     }
-    LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZONE_ID);
-    String formatted = ldt.format(TIME_FORMATTER);
-    TIME_CACHE.set(new TimeCache(second, formatted));
-    return formatted;
+    return base.format(second);
   }
 
   /**
@@ -228,6 +779,184 @@ public final class CodeUtil {
     return Base64.getEncoder().encodeToString(data);
   }
 
-  private record TimeCache(long second, String formatted) {
+  // --- [ 流式 Base64 ] ---
+
+  /**
+   * 写入的字节以 Base64 编码后写出到 out；必须 close 返回的流才会写出末尾的填充，同时关闭 out
+   */
+  public static OutputStream base64Encoder(OutputStream out) {
+    return Base64.getEncoder().wrap(out);
+  }
+
+  /**
+   * 从 in 读取 Base64 文本并解码；非法字符在读取时抛出 IOException
+   */
+  public static InputStream base64Decoder(InputStream in) {
+    return Base64.getDecoder().wrap(in);
+  }
+
+  /**
+   * Channel 版编码器，语义同 base64Encoder(OutputStream)：关闭返回的 Channel 时写出填充并关闭 channel
+   */
+  public static WritableByteChannel base64Encoder(WritableByteChannel channel) {
+    return Channels.newChannel(Base64.getEncoder().wrap(Channels.newOutputStream(channel)));
+  }
+
+  public static ReadableByteChannel base64Decoder(ReadableByteChannel channel) {
+    return Channels.newChannel(Base64.getDecoder().wrap(Channels.newInputStream(channel)));
+  }
+
+  /**
+   * 将 src 剩余字节编码写入 dst，两者 position 随之推进，返回写入 dst 的字节数
+   * 1. 只处理完整的 3 字节组，直到 src 不足一组或 dst 不足 4 字节；未处理的字节留在 src 中，补充数据后再次调用即可。
+   * 2. endOfInput 为 true 时，末尾不足 3 字节的部分按标准填充 '=' 输出。
+   * 3. 调用方提供并复用 dst，编码多 MB 数据时峰值内存与缓冲区大小相同，不随数据量增长。
+   */
+  public static int encodeBase64(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+    int start = dst.position();
+    if (src.hasArray() && dst.hasArray() && !dst.isReadOnly()) {
+      byte[] in = src.array(), out = dst.array();
+      int sp = src.arrayOffset() + src.position();
+      int dp = dst.arrayOffset() + dst.position();
+      int groups = Math.min(src.remaining() / 3, dst.remaining() / 4);
+      for (int sl = sp + groups * 3; sp < sl; sp += 3, dp += 4) {
+        int bits = (in[sp] & 0xFF) << 16 | (in[sp + 1] & 0xFF) << 8 | (in[sp + 2] & 0xFF);
+        out[dp] = BASE64_ALPHABET[bits >>> 18];
+        out[dp + 1] = BASE64_ALPHABET[(bits >>> 12) & 0x3F];
+        out[dp + 2] = BASE64_ALPHABET[(bits >>> 6) & 0x3F];
+        out[dp + 3] = BASE64_ALPHABET[bits & 0x3F];
+      }
+      src.position(sp - src.arrayOffset());
+      dst.position(dp - dst.arrayOffset());
+    } else {
+      while (src.remaining() >= 3 && dst.remaining() >= 4) {
+        int bits = (src.get() & 0xFF) << 16 | (src.get() & 0xFF) << 8 | (src.get() & 0xFF);
+        dst.put(BASE64_ALPHABET[bits >>> 18])
+            .put(BASE64_ALPHABET[(bits >>> 12) & 0x3F])
+            .put(BASE64_ALPHABET[(bits >>> 6) & 0x3F])
+            .put(BASE64_ALPHABET[bits & 0x3F]);
+      }
+    }
+    if (endOfInput && src.hasRemaining() && src.remaining() < 3 && dst.remaining() >= 4) {
+      int b0 = src.get() & 0xFF;
+      boolean two = src.hasRemaining();
+      int bits = b0 << 16 | (two ? (src.get() & 0xFF) << 8 : 0);
+      dst.put(BASE64_ALPHABET[bits >>> 18])
+          .put(BASE64_ALPHABET[(bits >>> 12) & 0x3F])
+          .put(two ? BASE64_ALPHABET[(bits >>> 6) & 0x3F] : (byte) '=')
+          .put((byte) '=');
+    }
+    return dst.position() - start;
+  }
+
+  /**
+   * 将 src 中的 Base64 文本解码写入 dst，两者 position 随之推进，返回写入 dst 的字节数
+   * 1. 只处理完整的 4 字符组，直到 src 不足一组或 dst 空间不足；未处理的字符留在 src 中。
+   * 2. endOfInput 为 true 时接受末尾省略填充的 2~3 个字符 (同 Base64.getDecoder)。
+   * 3. 遇到非法字符或填充之后仍有数据时抛出 IllegalArgumentException，src 停在出错的字符组开头。
+   */
+  public static int decodeBase64(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+    int start = dst.position();
+    while (src.remaining() >= 4) {
+      int p = src.position();
+      int c0 = BASE64_DECODE[src.get(p) & 0xFF], c1 = BASE64_DECODE[src.get(p + 1) & 0xFF];
+      int c2 = BASE64_DECODE[src.get(p + 2) & 0xFF], c3 = BASE64_DECODE[src.get(p + 3) & 0xFF];
+      if ((c0 | c1) < 0) throw invalidBase64(p);
+      if ((c2 | c3) >= 0) {
+        if (dst.remaining() < 3) break;
+        int bits = c0 << 18 | c1 << 12 | c2 << 6 | c3;
+        dst.put((byte) (bits >> 16)).put((byte) (bits >> 8)).put((byte) bits);
+        src.position(p + 4);
+        continue;
+      }
+      // 带填充的末组：xx== 或 xxx=
+      int bytes = c2 == BASE64_PAD && c3 == BASE64_PAD ? 1 : c2 >= 0 && c3 == BASE64_PAD ? 2 : -1;
+      if (bytes < 0 || src.remaining() > 4) throw invalidBase64(p);
+      if (dst.remaining() < bytes) break;
+      int bits = c0 << 18 | c1 << 12 | (bytes == 2 ? c2 << 6 : 0);
+      dst.put((byte) (bits >> 16));
+      if (bytes == 2) dst.put((byte) (bits >> 8));
+      src.position(p + 4);
+    }
+    int rest = src.remaining();
+    if (endOfInput && rest > 0 && rest < 4) {
+      int p = src.position();
+      if (rest == 1) throw invalidBase64(p);
+      int bits = 0;
+      for (int i = 0; i < rest; i++) {
+        int c = BASE64_DECODE[src.get(p + i) & 0xFF];
+        if (c < 0) throw invalidBase64(p);
+        bits |= c << (18 - 6 * i);
+      }
+      if (dst.remaining() >= rest - 1) {
+        dst.put((byte) (bits >> 16));
+        if (rest == 3) dst.put((byte) (bits >> 8));
+        src.position(p + rest);
+      }
+    }
+    return dst.position() - start;
+  }
+
+  private static IllegalArgumentException invalidBase64(int position) {
+    return new IllegalArgumentException("Invalid Base64 sequence at " + position);
+  }
+
+  /**
+   * hashFileTree 专用线程池：守护平台线程，首次使用时创建
+   */
+  private static final class FileHashExecutor {
+    static final ExecutorService INSTANCE = newPool();
+
+    private static ExecutorService newPool() {
+      int threads = Math.max(1, Integer.getInteger("code.util.fileHash.threads", Runtime.getRuntime().availableProcessors()));
+      AtomicInteger index = new AtomicInteger();
+      return Executors.newFixedThreadPool(threads, r -> {
+        Thread t = new Thread(r, "file-hash-" + index.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      });
+    }
+  }
+
+  /**
+   * 一段本地日期与时区偏移都不变的时间区间 [validFrom, validTo) (epochSecond)
+   * dayBase = yyyyMMdd * 1_000_000，区间内任一秒的 yyyyMMddHHmmss = dayBase + 本地 HHmmss。
+   */
+  private record TimeBase(long validFrom, long validTo, long dayBase, int offsetSeconds) {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    static TimeBase of(long second, ZoneRules rules) {
+      int offset = rules.getOffset(Instant.ofEpochSecond(second)).getTotalSeconds();
+      long localDay = Math.floorDiv(second + offset, SECONDS_PER_DAY);
+      LocalDate date = LocalDate.ofEpochDay(localDay);
+      long dayBase = (date.getYear() * 10_000L + date.getMonthValue() * 100L + date.getDayOfMonth()) * 1_000_000L;
+
+      // 区间同时受本地日界与偏移变化点约束；previousTransition 取严格早于参数的变化点，故传 second + 1 以包含 second 本身
+      long from = localDay * SECONDS_PER_DAY - offset;
+      long to = from + SECONDS_PER_DAY;
+      ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochSecond(second + 1));
+      if (previous != null) from = Math.max(from, previous.toEpochSecond());
+      ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochSecond(second));
+      if (next != null) to = Math.min(to, next.toEpochSecond());
+      return new TimeBase(from, to, dayBase, offset);
+    }
+
+    long format(long second) {
+      int secondOfDay = (int) Math.floorMod(second + offsetSeconds, SECONDS_PER_DAY);
+      int hour = secondOfDay / 3600;
+      int minute = secondOfDay / 60 % 60;
+      return dayBase + hour * 10_000L + minute * 100L + secondOfDay % 60;
+    }
+  }
+
+  /**
+   * nextIdLeased 的条带租约：[next, end) 为尚未发放的槽位，字段只在持有 lock 时读写
+   */
+  private static final class IdLease {
+    final ReentrantLock lock = new ReentrantLock();
+    long next;
+    long end;
+    int blockSize = 1;
   }
 }
\ No newline at end of file
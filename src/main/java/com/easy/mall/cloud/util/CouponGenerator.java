@@ -0,0 +1,173 @@
+package com.easy.mall.cloud.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * 批量唯一随机码生成 (CodeUtil.randomCodes 使用)
+ * 1. 码 = 值 v ∈ [0, 62^length) 的定长 62 进制表示，去重只针对 long 值，不创建 String。
+ * 2. 值空间按线程切分：第 t 个分区只含 v = r * parts + t，各分区互不相交，线程之间无需共享去重状态。
+ * 3. 分区内去重：分区较小时用精确位图；否则用按配额估算大小的 Bloom 过滤器。Bloom 没有假阴性，
+ *    已出现的值一定被拒绝，假阳性只会让个别新值被丢弃重抽，因此结果依然严格唯一。
+ * 4. 输出到 char[] 大数组，或按块定位写入文件，各线程写互不重叠的区域。
+ */
+final class CouponGenerator {
+
+  static final int MAX_LENGTH = 10;  // 62^10 < 2^63
+
+  private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+  private static final int BLOOM_BITS_PER_CODE = 16;  // 3 个哈希时假阳性约 0.5%
+  private static final int BLOOM_HASHES = 3;
+  private static final int MIN_CODES_PER_PART = 1 << 16;
+  private static final int FILE_BLOCK_BYTES = 1 << 20;
+
+  private final int n;
+  private final int length;
+  private final long space;
+  private final int parts;
+  private final RandomGenerator.SplittableGenerator root;
+
+  CouponGenerator(int n, int length, RandomGenerator.SplittableGenerator root) {
+    if (length < 1 || length > MAX_LENGTH) throw new IllegalArgumentException("length 范围应在1-" + MAX_LENGTH + "之间");
+    long space = 1;
+    for (int i = 0; i < length; i++) space *= DIGITS.length;
+    // 抽样量超过空间一半后重抽次数急剧上升
+    if (n < 0 || n > space / 2) throw new IllegalArgumentException("n 不能为负且不能超过码空间的一半: " + space / 2);
+    this.n = n;
+    this.length = length;
+    this.space = space;
+    int cores = Runtime.getRuntime().availableProcessors();
+    this.parts = (int) Math.max(1, Math.min(cores, (long) n / MIN_CODES_PER_PART));
+    this.root = root;
+  }
+
+  /**
+   * 第 i 个码位于 [i * length, (i + 1) * length)
+   */
+  char[] toArena() {
+    if ((long) n * length > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("n * length 超出数组上限，请改为写入文件");
+    char[] arena = new char[n * length];
+    RandomGenerator[] rngs = root.splits(parts).toArray(RandomGenerator[]::new);
+    IntStream.range(0, parts).parallel().forEach(t -> {
+      Partition partition = new Partition(t, rngs[t]);
+      for (int i = from(t), to = from(t + 1); i < to; i++) {
+        encode(partition.next(), arena, i * length);
+      }
+    });
+    return arena;
+  }
+
+  /**
+   * 每行一个码 (ASCII，以 \n 结尾)，已存在的文件会被覆盖
+   */
+  void toFile(Path file) {
+    int lineBytes = length + 1;
+    int blockCodes = Math.max(1, FILE_BLOCK_BYTES / lineBytes);
+    RandomGenerator[] rngs = root.splits(parts).toArray(RandomGenerator[]::new);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      IntStream.range(0, parts).parallel().forEach(t -> {
+        Partition partition = new Partition(t, rngs[t]);
+        char[] chars = new char[length];
+        ByteBuffer block = ByteBuffer.allocate(blockCodes * lineBytes);
+        long position = (long) from(t) * lineBytes;
+        for (int i = from(t), to = from(t + 1); i < to; i++) {
+          encode(partition.next(), chars, 0);
+          for (char c : chars) block.put((byte) c);
+          block.put((byte) '\n');
+          if (!block.hasRemaining() || i == to - 1) position = flush(channel, block, position);
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static long flush(FileChannel channel, ByteBuffer block, long position) {
+    block.flip();
+    try {
+      while (block.hasRemaining()) position += channel.write(block, position);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    block.clear();
+    return position;
+  }
+
+  /**
+   * 分区 t 负责的输出下标起点，配额在各分区间均分
+   */
+  private int from(int t) {
+    return (int) ((long) n * t / parts);
+  }
+
+  private void encode(long value, char[] out, int off) {
+    for (int i = off + length - 1; i >= off; i--) {
+      out[i] = DIGITS[(int) (value % DIGITS.length)];
+      value /= DIGITS.length;
+    }
+  }
+
+  /**
+   * 值空间的一个分区：v = r * parts + t，r ∈ [0, size)
+   */
+  private final class Partition {
+    final int t;
+    final long size;
+    final RandomGenerator rng;
+    final long[] bits;
+    final long mask;  // Bloom 模式下的位下标掩码，位图模式为 -1
+
+    Partition(int t, RandomGenerator rng) {
+      this.t = t;
+      this.size = (space - t + parts - 1) / parts;
+      this.rng = rng;
+      long quota = from(t + 1) - from(t);
+      long bloomBits = Math.max(64, Long.highestOneBit(Math.max(1, quota * BLOOM_BITS_PER_CODE) - 1) << 1);
+      if (size <= bloomBits) {
+        this.bits = new long[(int) ((size + 63) >>> 6)];
+        this.mask = -1;
+      } else {
+        this.bits = new long[(int) (bloomBits >>> 6)];
+        this.mask = bloomBits - 1;
+      }
+    }
+
+    long next() {
+      while (true) {
+        long r = rng.nextLong(size);
+        if (mask == -1 ? addExact(r) : addBloom(r)) return r * parts + t;
+      }
+    }
+
+    private boolean addExact(long r) {
+      int word = (int) (r >>> 6);
+      long bit = 1L << r;
+      if ((bits[word] & bit) != 0) return false;
+      bits[word] |= bit;
+      return true;
+    }
+
+    private boolean addBloom(long r) {
+      long h = FastHash.xxHash64(r, 0);
+      long step = Long.rotateLeft(h, 32) | 1;
+      boolean added = false;
+      for (int i = 0; i < BLOOM_HASHES; i++, h += step) {
+        long index = h & mask;
+        int word = (int) (index >>> 6);
+        long bit = 1L << index;
+        if ((bits[word] & bit) == 0) {
+          bits[word] |= bit;
+          added = true;
+        }
+      }
+      return added;
+    }
+  }
+}
\ No newline at end of file
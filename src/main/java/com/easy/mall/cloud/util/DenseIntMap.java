@@ -0,0 +1,213 @@
+package com.easy.mall.cloud.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * 小范围非负 int 键的数组 Map (状态码、类型码等)
+ * 1. 键落在 [0, MAX_DENSE_KEY) 时直接按下标存取：不算 hash、不建 Node、不装箱比较。
+ * 2. 范围外的键 (负数、过大、null) 退化到一个懒加载的 HashMap，语义与 HashMap 一致。
+ * 3. 遍历顺序：数组区按键升序，其后是溢出区。
+ */
+final class DenseIntMap<V> extends AbstractMap<Integer, V> {
+
+  static final int MAX_DENSE_KEY = 1024;
+
+  // 占位符：区分 "值为 null" 与 "没有映射"
+  private static final Object NULL_VALUE = new Object();
+  private static final Object[] EMPTY_TABLE = new Object[0];
+
+  private Object[] table = EMPTY_TABLE;
+  private int denseSize;
+  private Map<Integer, V> overflow;
+  private Set<Map.Entry<Integer, V>> entrySet;
+
+  DenseIntMap() {
+  }
+
+  /**
+   * 复制构造：数组区整体拷贝，溢出区复制为新的 HashMap，与源 Map 不再共享状态
+   */
+  DenseIntMap(DenseIntMap<? extends V> source) {
+    this.table = source.table.length == 0 ? EMPTY_TABLE : source.table.clone();
+    this.denseSize = source.denseSize;
+    this.overflow = source.overflow == null ? null : new HashMap<>(source.overflow);
+  }
+
+  private static boolean isDense(Integer key) {
+    return key != null && key >= 0 && key < MAX_DENSE_KEY;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V unmask(Object value) {
+    return value == NULL_VALUE ? null : (V) value;
+  }
+
+  @Override
+  public int size() {
+    return denseSize + (overflow == null ? 0 : overflow.size());
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (key instanceof Integer k && isDense(k)) return k < table.length && table[k] != null;
+    return overflow != null && overflow.containsKey(key);
+  }
+
+  @Override
+  public V get(Object key) {
+    if (key instanceof Integer k && isDense(k)) return k < table.length ? unmask(table[k]) : null;
+    return overflow == null ? null : overflow.get(key);
+  }
+
+  @Override
+  public V put(Integer key, V value) {
+    if (isDense(key)) {
+      int i = key;
+      // 按最高位翻倍扩容，数组长度只跟随实际出现过的最大键
+      if (i >= table.length) table = Arrays.copyOf(table, Math.min(MAX_DENSE_KEY, Math.max(16, Integer.highestOneBit(i) << 1)));
+      Object old = table[i];
+      table[i] = value == null ? NULL_VALUE : value;
+      if (old == null) denseSize++;
+      return unmask(old);
+    }
+    if (overflow == null) overflow = new HashMap<>();
+    return overflow.put(key, value);
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (key instanceof Integer k && isDense(k)) {
+      if (k >= table.length || table[k] == null) return null;
+      Object old = table[k];
+      table[k] = null;
+      denseSize--;
+      return unmask(old);
+    }
+    return overflow == null ? null : overflow.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(table, null);
+    denseSize = 0;
+    overflow = null;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super Integer, ? super V> action) {
+    Object[] tab = table;
+    for (int i = 0; i < tab.length; i++) {
+      if (tab[i] != null) action.accept(i, unmask(tab[i]));
+    }
+    if (overflow != null) overflow.forEach(action);
+  }
+
+  @Override
+  public Set<Map.Entry<Integer, V>> entrySet() {
+    Set<Map.Entry<Integer, V>> es = entrySet;
+    return es != null ? es : (entrySet = new EntrySet());
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+    @Override
+    public int size() {
+      return DenseIntMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      DenseIntMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Map.Entry<Integer, V>> iterator() {
+      return new EntryIterator();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+    private int next = advance(0);
+    private int last = -1;
+    private Iterator<Map.Entry<Integer, V>> overflowIt;
+
+    private int advance(int from) {
+      Object[] tab = table;
+      while (from < tab.length && tab[from] == null) from++;
+      return from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next < table.length) return true;
+      if (overflowIt == null && overflow != null) overflowIt = overflow.entrySet().iterator();
+      return overflowIt != null && overflowIt.hasNext();
+    }
+
+    @Override
+    public Map.Entry<Integer, V> next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      if (next < table.length) {
+        last = next;
+        next = advance(next + 1);
+        return new DenseEntry(last);
+      }
+      last = -1;
+      return overflowIt.next();
+    }
+
+    @Override
+    public void remove() {
+      if (last >= 0) {
+        if (table[last] == null) throw new IllegalStateException();
+        table[last] = null;
+        denseSize--;
+        last = -1;
+      } else if (overflowIt != null) {
+        overflowIt.remove();
+      } else {
+        throw new IllegalStateException();
+      }
+    }
+  }
+
+  private final class DenseEntry implements Map.Entry<Integer, V> {
+    private final int key;
+
+    private DenseEntry(int key) {
+      this.key = key;
+    }
+
+    @Override
+    public Integer getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return unmask(table[key]);
+    }
+
+    @Override
+    public V setValue(V value) {
+      V old = unmask(table[key]);
+      table[key] = value == null ? NULL_VALUE : value;
+      return old;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.easy.mall.cloud.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 非加密哈希实现 (CodeUtil.xxHash64 / murmur3Hash128 / jumpConsistentHash 使用)
+ * 1. xxHash64 与 MurmurHash3 x64_128 均按小端读取，结果与官方参考实现一致。
+ * 2. byte[] 走专用循环 (VarHandle 按 long 读取)；String 与直接内存 ByteBuffer 通过 Access 读取，不做中间拷贝。
+ * 3. String 按 UTF-16 码元的小端字节参与计算 (不含孤立代理字符时与 str.getBytes(UTF_16LE) 的哈希相同)，不经过 getBytes。
+ */
+final class FastHash {
+
+  private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long P1 = 0x9E3779B185EBCA87L;
+  private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long P3 = 0x165667B19E3779F9L;
+  private static final long P4 = 0x85EBCA77C2B2AE63L;
+  private static final long P5 = 0x27D4EB2F165667C5L;
+
+  private static final long C1 = 0x87C37B91114253D5L;
+  private static final long C2 = 0x4CF5AD432745937FL;
+
+  private FastHash() {
+  }
+
+  // --- [ xxHash64 ] ---
+
+  static long xxHash64(byte[] data, int off, int len, long seed) {
+    int end = off + len;
+    int i = off;
+    long h;
+    if (len >= 32) {
+      long v1 = seed + P1 + P2, v2 = seed + P2, v3 = seed, v4 = seed - P1;
+      for (int limit = end - 32; i <= limit; i += 32) {
+        v1 = round(v1, (long) LONG_LE.get(data, i));
+        v2 = round(v2, (long) LONG_LE.get(data, i + 8));
+        v3 = round(v3, (long) LONG_LE.get(data, i + 16));
+        v4 = round(v4, (long) LONG_LE.get(data, i + 24));
+      }
+      h = converge(v1, v2, v3, v4);
+    } else {
+      h = seed + P5;
+    }
+    h += len;
+    for (; i + 8 <= end; i += 8) h = mixLong(h, (long) LONG_LE.get(data, i));
+    if (i + 4 <= end) {
+      h = mixInt(h, (int) INT_LE.get(data, i));
+      i += 4;
+    }
+    for (; i < end; i++) h = mixByte(h, data[i] & 0xFF);
+    return avalanche(h);
+  }
+
+  static <T> long xxHash64(Access<T> access, T in, int off, int len, long seed) {
+    int end = off + len;
+    int i = off;
+    long h;
+    if (len >= 32) {
+      long v1 = seed + P1 + P2, v2 = seed + P2, v3 = seed, v4 = seed - P1;
+      for (int limit = end - 32; i <= limit; i += 32) {
+        v1 = round(v1, access.i64(in, i));
+        v2 = round(v2, access.i64(in, i + 8));
+        v3 = round(v3, access.i64(in, i + 16));
+        v4 = round(v4, access.i64(in, i + 24));
+      }
+      h = converge(v1, v2, v3, v4);
+    } else {
+      h = seed + P5;
+    }
+    h += len;
+    for (; i + 8 <= end; i += 8) h = mixLong(h, access.i64(in, i));
+    if (i + 4 <= end) {
+      h = mixInt(h, access.i32(in, i));
+      i += 4;
+    }
+    for (; i < end; i++) h = mixByte(h, access.u8(in, i));
+    return avalanche(h);
+  }
+
+  /**
+   * 等价于对 value 的 8 个小端字节求 xxHash64
+   */
+  static long xxHash64(long value, long seed) {
+    return avalanche(mixLong(seed + P5 + 8, value));
+  }
+
+  private static long round(long acc, long input) {
+    return Long.rotateLeft(acc + input * P2, 31) * P1;
+  }
+
+  private static long converge(long v1, long v2, long v3, long v4) {
+    long h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+    h = (h ^ round(0, v1)) * P1 + P4;
+    h = (h ^ round(0, v2)) * P1 + P4;
+    h = (h ^ round(0, v3)) * P1 + P4;
+    return (h ^ round(0, v4)) * P1 + P4;
+  }
+
+  private static long mixLong(long h, long k) {
+    return Long.rotateLeft(h ^ round(0, k), 27) * P1 + P4;
+  }
+
+  private static long mixInt(long h, int k) {
+    return Long.rotateLeft(h ^ (k & 0xFFFFFFFFL) * P1, 23) * P2 + P3;
+  }
+
+  private static long mixByte(long h, int b) {
+    return Long.rotateLeft(h ^ b * P5, 11) * P1;
+  }
+
+  private static long avalanche(long h) {
+    h ^= h >>> 33;
+    h *= P2;
+    h ^= h >>> 29;
+    h *= P3;
+    return h ^ h >>> 32;
+  }
+
+  // --- [ MurmurHash3 x64_128 ] ---
+
+  static long[] murmur3Hash128(byte[] data, int off, int len, int seed) {
+    long h1 = seed & 0xFFFFFFFFL, h2 = h1;
+    int i = off;
+    for (int limit = off + (len & ~15); i < limit; i += 16) {
+      h1 = murmurH1(h1 ^ murmurK1((long) LONG_LE.get(data, i)), h2);
+      h2 = murmurH2(h2 ^ murmurK2((long) LONG_LE.get(data, i + 8)), h1);
+    }
+    long k1 = 0, k2 = 0;
+    int rem = len & 15;
+    for (int j = rem - 1; j >= 8; j--) k2 = k2 << 8 | (data[i + j] & 0xFF);
+    for (int j = Math.min(rem, 8) - 1; j >= 0; j--) k1 = k1 << 8 | (data[i + j] & 0xFF);
+    return murmurFinish(h1, h2, k1, k2, rem, len);
+  }
+
+  static <T> long[] murmur3Hash128(Access<T> access, T in, int off, int len, int seed) {
+    long h1 = seed & 0xFFFFFFFFL, h2 = h1;
+    int i = off;
+    for (int limit = off + (len & ~15); i < limit; i += 16) {
+      h1 = murmurH1(h1 ^ murmurK1(access.i64(in, i)), h2);
+      h2 = murmurH2(h2 ^ murmurK2(access.i64(in, i + 8)), h1);
+    }
+    long k1 = 0, k2 = 0;
+    int rem = len & 15;
+    for (int j = rem - 1; j >= 8; j--) k2 = k2 << 8 | access.u8(in, i + j);
+    for (int j = Math.min(rem, 8) - 1; j >= 0; j--) k1 = k1 << 8 | access.u8(in, i + j);
+    return murmurFinish(h1, h2, k1, k2, rem, len);
+  }
+
+  private static long murmurK1(long k1) {
+    return Long.rotateLeft(k1 * C1, 31) * C2;
+  }
+
+  private static long murmurK2(long k2) {
+    return Long.rotateLeft(k2 * C2, 33) * C1;
+  }
+
+  private static long murmurH1(long h1, long h2) {
+    return (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52DCE729;
+  }
+
+  private static long murmurH2(long h2, long h1) {
+    return (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495AB5;
+  }
+
+  private static long[] murmurFinish(long h1, long h2, long k1, long k2, int rem, int len) {
+    if (rem > 8) h2 ^= murmurK2(k2);
+    if (rem > 0) h1 ^= murmurK1(k1);
+    h1 ^= len;
+    h2 ^= len;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix(h1);
+    h2 = fmix(h2);
+    h1 += h2;
+    h2 += h1;
+    return new long[]{h1, h2};
+  }
+
+  private static long fmix(long k) {
+    k ^= k >>> 33;
+    k *= 0xFF51AFD7ED558CCDL;
+    k ^= k >>> 33;
+    k *= 0xC4CEB9FE1A85EC53L;
+    return k ^ k >>> 33;
+  }
+
+  // --- [ 一致性哈希 ] ---
+
+  /**
+   * Jump Consistent Hash (Lamping &amp; Veach)：桶数由 n 增至 n + 1 时只有约 1/(n + 1) 的键迁移，且无需存储环
+   */
+  static int jumpConsistentHash(long key, int buckets) {
+    if (buckets <= 0) throw new IllegalArgumentException("buckets 必须大于 0");
+    long b = -1, j = 0;
+    while (j < buckets) {
+      b = j;
+      key = key * 2862933555777941757L + 1;
+      j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+    }
+    return (int) b;
+  }
+
+  // --- [ 输入访问 ] ---
+
+  /**
+   * 按小端从输入的字节下标 i 处读取 long / int / 单字节
+   */
+  abstract static class Access<T> {
+    abstract long i64(T in, int i);
+
+    abstract int i32(T in, int i);
+
+    abstract int u8(T in, int i);
+  }
+
+  /**
+   * String 视为 UTF-16LE 字节序列；xxHash64 / murmur3 的 i64 / i32 读取下标总是 4 的倍数
+   */
+  static final Access<String> STRING = new Access<>() {
+    @Override
+    long i64(String s, int i) {
+      int c = i >> 1;
+      return s.charAt(c) | (long) s.charAt(c + 1) << 16 | (long) s.charAt(c + 2) << 32 | (long) s.charAt(c + 3) << 48;
+    }
+
+    @Override
+    int i32(String s, int i) {
+      int c = i >> 1;
+      return s.charAt(c) | s.charAt(c + 1) << 16;
+    }
+
+    @Override
+    int u8(String s, int i) {
+      char c = s.charAt(i >> 1);
+      return (i & 1) == 0 ? c & 0xFF : c >>> 8;
+    }
+  };
+
+  /**
+   * 以绝对下标读取 ByteBuffer (调用方传入小端序的 duplicate)，不移动 position
+   */
+  static final Access<ByteBuffer> BUFFER = new Access<>() {
+    @Override
+    long i64(ByteBuffer b, int i) {
+      return b.getLong(i);
+    }
+
+    @Override
+    int i32(ByteBuffer b, int i) {
+      return b.getInt(i);
+    }
+
+    @Override
+    int u8(ByteBuffer b, int i) {
+      return b.get(i) & 0xFF;
+    }
+  };
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.easy.mall.cloud.util;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 多个子集合拼接后的按总元素数均分的 Spliterator (StreamUtil.flatParallel 使用)
+ * 1. 以全局下标区间 [from, to) 描述任务，trySplit 按元素个数对半切分，与子集合个数和大小分布无关。
+ * 2. 随机访问的子 List 可在任意位置切开；其他集合只在子集合边界处切分，内部用迭代器顺序读取。
+ * 3. SIZED | SUBSIZED：toArray / toList 会预分配一个总长数组，每个叶子任务直接写入自己的偏移区间，无中间拼接。
+ */
+final class FlatSpliterator<T> implements Spliterator<T> {
+
+  // 小于该长度的区间不再切分，避免任务调度开销盖过拷贝本身
+  private static final int MIN_SPLIT = 1 << 10;
+
+  private final Collection<T>[] parts;
+  private final long[] offsets;   // offsets[i] = 第 i 个子集合在拼接结果中的起始下标，最后一位为总长
+  private long from;
+  private final long to;
+
+  // 非随机访问子集合的读取游标
+  private Iterator<T> cursor;
+  private long cursorAt = -1;
+
+  private FlatSpliterator(Collection<T>[] parts, long[] offsets, long from, long to) {
+    this.parts = parts;
+    this.offsets = offsets;
+    this.from = from;
+    this.to = to;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> FlatSpliterator<T> of(Collection<? extends Collection<T>> collections) {
+    List<Collection<T>> nonEmpty = new ArrayList<>(collections.size());
+    for (Collection<T> sub : collections) {
+      if (sub != null && !sub.isEmpty()) nonEmpty.add(sub);
+    }
+    Collection<T>[] parts = nonEmpty.toArray(new Collection[0]);
+    long[] offsets = new long[parts.length + 1];
+    for (int i = 0; i < parts.length; i++) offsets[i + 1] = offsets[i] + parts[i].size();
+    return new FlatSpliterator<>(parts, offsets, 0, offsets[parts.length]);
+  }
+
+  long totalSize() {
+    return offsets[parts.length];
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (to - from < MIN_SPLIT * 2L) return null;
+    long mid = (from + to) >>> 1;
+    int part = partOf(mid);
+    if (!isRandomAccess(parts[part]) && mid != offsets[part]) {
+      // 非随机访问集合不可从中间切开：吸附到区间内较近的子集合边界
+      long start = offsets[part], end = offsets[part + 1];
+      boolean startOk = start > from, endOk = end < to;
+      if (!startOk && !endOk) return null;
+      mid = startOk && (!endOk || mid - start <= end - mid) ? start : end;
+    }
+    FlatSpliterator<T> prefix = new FlatSpliterator<>(parts, offsets, from, mid);
+    from = mid;
+    cursor = null;
+    return prefix;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (from >= to) return false;
+    action.accept(elementAt(from++));
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    long pos = from;
+    long end = to;
+    from = end;
+    while (pos < end) {
+      int part = partOf(pos);
+      Collection<T> sub = parts[part];
+      int local = (int) (pos - offsets[part]);
+      int stop = (int) (Math.min(end, offsets[part + 1]) - offsets[part]);
+      if (isRandomAccess(sub)) {
+        List<T> list = (List<T>) sub;
+        for (int i = local; i < stop; i++) action.accept(list.get(i));
+      } else {
+        Iterator<T> it = iteratorAt(part, pos);
+        for (int i = local; i < stop; i++) action.accept(it.next());
+        cursor = null;
+      }
+      pos = offsets[part] + stop;
+    }
+  }
+
+  @Override
+  public long estimateSize() {
+    return to - from;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED;
+  }
+
+  private T elementAt(long pos) {
+    int part = partOf(pos);
+    Collection<T> sub = parts[part];
+    if (isRandomAccess(sub)) return ((List<T>) sub).get((int) (pos - offsets[part]));
+    Iterator<T> it = iteratorAt(part, pos);
+    T value = it.next();
+    cursorAt = pos + 1;
+    return value;
+  }
+
+  /**
+   * 返回定位到 pos 的迭代器：顺序读取时复用游标，否则从子集合开头跳过
+   */
+  private Iterator<T> iteratorAt(int part, long pos) {
+    if (cursor == null || cursorAt != pos || pos == offsets[part]) {
+      cursor = parts[part].iterator();
+      for (long skip = pos - offsets[part]; skip > 0; skip--) cursor.next();
+    }
+    cursorAt = pos;
+    return cursor;
+  }
+
+  /**
+   * 二分查找 pos 所属的子集合下标
+   */
+  private int partOf(long pos) {
+    int lo = 0, hi = parts.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi + 1) >>> 1;
+      if (offsets[mid] <= pos) lo = mid;
+      else hi = mid - 1;
+    }
+    return lo;
+  }
+
+  private static boolean isRandomAccess(Collection<?> sub) {
+    return sub instanceof List<?> && sub instanceof RandomAccess;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,589 @@
+package com.easy.mall.cloud.util;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 基于 java.util.concurrent.Flow 的流式算子：数据按下游需求 (request) 逐批拉取，任意时刻内存中只有在途的少量元素
+ * 1. 适用于无界或超大数据源 (分页游标、导出任务)，替代 StreamUtil / ObjUtil 中需要整表载入的 List 入参。
+ * 2. 算子只转发需求，不做缓冲：map / filter / distinct 一进一出，batch 把 n 个批次的需求换算为 n * size 个元素。
+ * 3. 与 ObjUtil 一致，null 不会被发出：数据源中的 null 元素、map 返回的 null 直接丢弃，并向上游补请求。
+ * 4. 所有 Publisher 可重复订阅，每次订阅相互独立；每个订阅的回调严格串行。
+ */
+public final class FlowUtil {
+
+  private static final int DEFAULT_PREFETCH = 256;
+
+  private FlowUtil() {
+  }
+
+  // --- [ 数据源 ] ---
+
+  /**
+   * 将 Iterable (如分页游标的惰性迭代器) 包装为 Publisher，每次订阅重新获取迭代器
+   */
+  public static <T> Flow.Publisher<T> fromIterable(Iterable<? extends T> source) {
+    Objects.requireNonNull(source);
+    return subscriber -> {
+      Iterator<? extends T> it;
+      try {
+        it = source.iterator();
+      } catch (Throwable e) {
+        subscriber.onSubscribe(CancelledSubscription.INSTANCE);
+        subscriber.onError(e);
+        return;
+      }
+      subscriber.onSubscribe(new IterableSubscription<>(subscriber, it));
+    };
+  }
+
+  // --- [ 算子 ] ---
+
+  public static <T, R> Flow.Publisher<R> map(Flow.Publisher<T> source, Function<? super T, ? extends R> mapper) {
+    Objects.requireNonNull(mapper);
+    return subscriber -> source.subscribe(new MapRelay<>(subscriber, mapper));
+  }
+
+  /**
+   * 逐个元素执行 BeanUtil.convert，等价于 BeanUtil.converts 的流式版本
+   */
+  public static <S, D> Flow.Publisher<D> converts(Flow.Publisher<S> source, Class<D> destinationClass) {
+    Objects.requireNonNull(destinationClass);
+    return map(source, s -> BeanUtil.convert(s, destinationClass));
+  }
+
+  public static <T> Flow.Publisher<T> filter(Flow.Publisher<T> source, Predicate<? super T> predicate) {
+    Objects.requireNonNull(predicate);
+    return subscriber -> source.subscribe(new FilterRelay<>(subscriber, predicate));
+  }
+
+  /**
+   * 按 size 个元素打包 (如批量写入)；上游结束时不足 size 的尾批照常发出
+   */
+  public static <T> Flow.Publisher<List<T>> batch(Flow.Publisher<T> source, int size) {
+    if (size <= 0) throw new IllegalArgumentException("size 必须大于 0");
+    return subscriber -> source.subscribe(new BatchRelay<>(subscriber, size));
+  }
+
+  /**
+   * 展开每个上游元素 (集合 / 分页结果)：当前集合全部发出后才向上游请求下一个，集合内部同样受下游需求约束
+   */
+  public static <T> Flow.Publisher<T> flat(Flow.Publisher<? extends Iterable<? extends T>> source) {
+    return subscriber -> source.subscribe(new FlatRelay<T>(subscriber));
+  }
+
+  /**
+   * 窗口内去重：键与最近 window 个不同键之一相同时丢弃，内存占用以 window 为上限 (超出后淘汰最早的键)
+   */
+  public static <T, K> Flow.Publisher<T> distinct(Flow.Publisher<T> source, Function<? super T, ? extends K> keyMapper, int window) {
+    Objects.requireNonNull(keyMapper);
+    if (window <= 0) throw new IllegalArgumentException("window 必须大于 0");
+    return subscriber -> source.subscribe(new DistinctRelay<>(subscriber, keyMapper, window));
+  }
+
+  // --- [ 终端 ] ---
+
+  public static <T> CompletableFuture<Void> forEach(Flow.Publisher<T> source, Consumer<? super T> consumer) {
+    return forEach(source, consumer, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * 订阅并逐个消费，返回的 Future 在上游结束时完成；consumer 抛出异常时取消上游并以该异常结束
+   * 预取 prefetch 个元素，消费过半后补齐，上游在途元素不超过 prefetch 个。
+   */
+  public static <T> CompletableFuture<Void> forEach(Flow.Publisher<T> source, Consumer<? super T> consumer, int prefetch) {
+    Objects.requireNonNull(consumer);
+    if (prefetch <= 0) throw new IllegalArgumentException("prefetch 必须大于 0");
+    ForEachSubscriber<T> subscriber = new ForEachSubscriber<>(consumer, prefetch);
+    source.subscribe(subscriber);
+    return subscriber.future;
+  }
+
+  // --- [ 实现 ] ---
+
+  /**
+   * 需求累加，溢出时封顶为 Long.MAX_VALUE (即无界)，返回累加前的值
+   */
+  private static long addCap(AtomicLong requested, long n) {
+    for (; ; ) {
+      long current = requested.get();
+      if (current == Long.MAX_VALUE) return Long.MAX_VALUE;
+      long next = current + n;
+      if (next < 0) next = Long.MAX_VALUE;
+      if (requested.compareAndSet(current, next)) return current;
+    }
+  }
+
+  private static long multiplyCap(long a, long b) {
+    long hi = Math.multiplyHigh(a, b);
+    long lo = a * b;
+    return hi != 0 || lo < 0 ? Long.MAX_VALUE : lo;
+  }
+
+  private static IllegalArgumentException invalidRequest(long n) {
+    return new IllegalArgumentException("request 数量必须大于 0: " + n);
+  }
+
+  private enum CancelledSubscription implements Flow.Subscription {
+    INSTANCE;
+
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  }
+
+  /**
+   * Iterable 数据源：需求由 0 变为非 0 的线程负责发射，重入的 request 只累加需求，避免递归
+   * 非法的 request 同样只登记错误并补 1 个需求唤醒发射线程，由它串行发出 onError，不会与 onNext 并发或重复终止。
+   */
+  private static final class IterableSubscription<T> implements Flow.Subscription {
+    private final Flow.Subscriber<? super T> downstream;
+    private final Iterator<? extends T> iterator;
+    private final AtomicLong requested = new AtomicLong();
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    IterableSubscription(Flow.Subscriber<? super T> downstream, Iterator<? extends T> iterator) {
+      this.downstream = downstream;
+      this.iterator = iterator;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        if (error == null) error = invalidRequest(n);
+        n = 1;
+      }
+      if (addCap(requested, n) == 0) emit(n);
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+
+    private void emit(long r) {
+      long emitted = 0;
+      for (; ; ) {
+        try {
+          while (emitted != r) {
+            if (cancelled) return;
+            if (error != null) {
+              cancelled = true;
+              downstream.onError(error);
+              return;
+            }
+            if (!iterator.hasNext()) {
+              complete();
+              return;
+            }
+            T value = iterator.next();
+            if (value == null) continue;
+            downstream.onNext(value);
+            emitted++;
+          }
+          if (cancelled) return;
+          if (!iterator.hasNext()) {
+            complete();
+            return;
+          }
+        } catch (Throwable e) {
+          if (cancelled) return;
+          cancelled = true;
+          downstream.onError(e);
+          return;
+        }
+        r = requested.get();
+        if (r == emitted) {
+          r = requested.addAndGet(-emitted);
+          if (r == 0) return;
+          emitted = 0;
+        }
+      }
+    }
+
+    private void complete() {
+      cancelled = true;
+      downstream.onComplete();
+    }
+  }
+
+  /**
+   * 一进一出算子的公共部分：透传需求与取消，算子异常时取消上游并向下游发出 onError
+   */
+  private abstract static class Relay<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+    final Flow.Subscriber<? super R> downstream;
+    Flow.Subscription upstream;
+    boolean done;
+
+    Relay(Flow.Subscriber<? super R> downstream) {
+      this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      if (upstream != null) {
+        subscription.cancel();
+        return;
+      }
+      upstream = subscription;
+      downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      if (done) return;
+      done = true;
+      downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) return;
+      done = true;
+      downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+      upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+      upstream.cancel();
+    }
+
+    final void fail(Throwable e) {
+      upstream.cancel();
+      onError(e);
+    }
+  }
+
+  private static final class MapRelay<T, R> extends Relay<T, R> {
+    private final Function<? super T, ? extends R> mapper;
+
+    MapRelay(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends R> mapper) {
+      super(downstream);
+      this.mapper = mapper;
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done) return;
+      R mapped;
+      try {
+        mapped = mapper.apply(item);
+      } catch (Throwable e) {
+        fail(e);
+        return;
+      }
+      if (mapped == null) upstream.request(1);
+      else downstream.onNext(mapped);
+    }
+  }
+
+  private static final class FilterRelay<T> extends Relay<T, T> {
+    private final Predicate<? super T> predicate;
+
+    FilterRelay(Flow.Subscriber<? super T> downstream, Predicate<? super T> predicate) {
+      super(downstream);
+      this.predicate = predicate;
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done) return;
+      boolean pass;
+      try {
+        pass = predicate.test(item);
+      } catch (Throwable e) {
+        fail(e);
+        return;
+      }
+      if (pass) downstream.onNext(item);
+      else upstream.request(1);
+    }
+  }
+
+  private static final class DistinctRelay<T, K> extends Relay<T, T> {
+    private final Function<? super T, ? extends K> keyMapper;
+    private final int window;
+    // ArrayDeque 不接受 null，null 键以占位对象代替
+    private static final Object NULL_KEY = new Object();
+
+    private final Set<Object> seen;
+    private final ArrayDeque<Object> order;
+
+    DistinctRelay(Flow.Subscriber<? super T> downstream, Function<? super T, ? extends K> keyMapper, int window) {
+      super(downstream);
+      this.keyMapper = keyMapper;
+      this.window = window;
+      int initial = Math.min(window, 1 << 10);
+      this.seen = HashSet.newHashSet(initial);
+      this.order = new ArrayDeque<>(initial);
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done) return;
+      Object key;
+      try {
+        key = Objects.requireNonNullElse(keyMapper.apply(item), NULL_KEY);
+      } catch (Throwable e) {
+        fail(e);
+        return;
+      }
+      if (!seen.add(key)) {
+        upstream.request(1);
+        return;
+      }
+      order.addLast(key);
+      if (order.size() > window) seen.remove(order.removeFirst());
+      downstream.onNext(item);
+    }
+  }
+
+  private static final class BatchRelay<T> extends Relay<T, List<T>> {
+    private final int size;
+    private List<T> buffer;
+
+    BatchRelay(Flow.Subscriber<? super List<T>> downstream, int size) {
+      super(downstream);
+      this.size = size;
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done) return;
+      if (buffer == null) buffer = new ArrayList<>(size);
+      buffer.add(item);
+      if (buffer.size() == size) {
+        List<T> full = buffer;
+        buffer = null;
+        downstream.onNext(full);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      buffer = null;
+      super.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) return;
+      // 上游提前结束说明已发出的整批少于下游需求，尾批一定有需求额度
+      List<T> rest = buffer;
+      buffer = null;
+      if (rest != null) downstream.onNext(rest);
+      super.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+      upstream.request(n <= 0 ? n : multiplyCap(n, size));
+    }
+  }
+
+  /**
+   * 展开算子：上游一次只请求一个集合；上游回调与下游 request 可能来自不同线程，
+   * 由 wip 计数保证同一时刻只有一个线程在 drain 中向下游发射，其他线程只登记"有新变化"后返回。
+   * 非法的 request 取消上游后登记为错误，同样交给 drain 发出。
+   */
+  private static final class FlatRelay<T> implements Flow.Subscriber<Iterable<? extends T>>, Flow.Subscription {
+    private final Flow.Subscriber<? super T> downstream;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private Flow.Subscription upstream;
+    private volatile Iterator<? extends T> current;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    FlatRelay(Flow.Subscriber<? super T> downstream) {
+      this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      if (upstream != null) {
+        subscription.cancel();
+        return;
+      }
+      upstream = subscription;
+      downstream.onSubscribe(this);
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(Iterable<? extends T> item) {
+      if (done) return;
+      try {
+        current = item.iterator();
+      } catch (Throwable e) {
+        upstream.cancel();
+        onError(e);
+        return;
+      }
+      drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      if (done) return;
+      error = throwable;
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) return;
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        upstream.cancel();
+        if (error == null) error = invalidRequest(n);
+        drain();
+        return;
+      }
+      addCap(requested, n);
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      if (cancelled) return;
+      cancelled = true;
+      upstream.cancel();
+      if (wip.getAndIncrement() == 0) current = null;
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) return;
+      int missed = 1;
+      for (; ; ) {
+        if (cancelled) {
+          current = null;
+          return;
+        }
+        if (error != null) {
+          current = null;
+          cancelled = true;
+          downstream.onError(error);
+          return;
+        }
+        Iterator<? extends T> it = current;
+        if (it != null) {
+          long r = requested.get();
+          long emitted = 0;
+          boolean exhausted;
+          try {
+            while (emitted != r && error == null && it.hasNext()) {
+              T value = it.next();
+              if (value == null) continue;
+              downstream.onNext(value);
+              emitted++;
+              if (cancelled) {
+                current = null;
+                return;
+              }
+            }
+            exhausted = !it.hasNext();
+          } catch (Throwable e) {
+            current = null;
+            cancelled = true;
+            upstream.cancel();
+            downstream.onError(e);
+            return;
+          }
+          if (emitted != 0 && r != Long.MAX_VALUE) requested.addAndGet(-emitted);
+          if (exhausted) {
+            current = null;
+            it = null;
+            // 可能同步触发 onNext：其中的 drain 只会登记 missed，由本循环继续处理
+            if (!done) upstream.request(1);
+          }
+        }
+        if (it == null && current == null && done) {
+          cancelled = true;
+          downstream.onComplete();
+          return;
+        }
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) return;
+      }
+    }
+  }
+
+  private static final class ForEachSubscriber<T> implements Flow.Subscriber<T> {
+    private final Consumer<? super T> consumer;
+    private final int prefetch;
+    private final int limit;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private Flow.Subscription upstream;
+    private int consumed;
+
+    ForEachSubscriber(Consumer<? super T> consumer, int prefetch) {
+      this.consumer = consumer;
+      this.prefetch = prefetch;
+      this.limit = prefetch - (prefetch >> 1);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      if (upstream != null) {
+        subscription.cancel();
+        return;
+      }
+      upstream = subscription;
+      // 调用方取消 Future 时同步取消上游
+      future.whenComplete((v, e) -> {
+        if (future.isCancelled()) subscription.cancel();
+      });
+      subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (future.isDone()) return;
+      try {
+        consumer.accept(item);
+      } catch (Throwable e) {
+        upstream.cancel();
+        future.completeExceptionally(e);
+        return;
+      }
+      if (++consumed == limit) {
+        consumed = 0;
+        upstream.request(limit);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      future.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      future.complete(null);
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.easy.mall.cloud.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * 只读字典表 Map (区域、类目、SKU 等常驻内存的查找表)
+ * 1. 开放寻址 + 线性探测，键值存放在两条平行数组中，没有 Node/Entry 对象。
+ * 2. 负载因子不超过 0.5，探测链极短；Fibonacci 散列打散 hashCode 低位的规律性。
+ * 3. 每条映射约 2 个引用槽 (HashMap 约为 Node 32 字节 + 桶位)，常驻内存更省。
+ * 4. 不可变：所有修改操作抛 UnsupportedOperationException；键不可为 null，值可以为 null。
+ */
+public final class FrozenMap<K, V> extends AbstractMap<K, V> {
+
+  private static final FrozenMap<?, ?> EMPTY = new FrozenMap<>(new Object[2], new Object[2], 0);
+
+  private final Object[] keys;
+  private final Object[] values;
+  private final int shift;
+  private final int mask;
+  private final int size;
+  private Set<Map.Entry<K, V>> entrySet;
+
+  private FrozenMap(Object[] keys, Object[] values, int size) {
+    this.keys = keys;
+    this.values = values;
+    this.mask = keys.length - 1;
+    this.shift = Integer.numberOfLeadingZeros(mask);
+    this.size = size;
+  }
+
+  /**
+   * 从任意 Map 构建只读副本，源 Map 后续的修改不会影响副本
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> FrozenMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    if (map instanceof FrozenMap<?, ?> frozen) return (FrozenMap<K, V>) frozen;
+    if (map == null || map.isEmpty()) return (FrozenMap<K, V>) EMPTY;
+
+    // 容量取 2 的幂且不小于 2 * size，保证负载因子 <= 0.5
+    int capacity = Math.max(2, Integer.highestOneBit(map.size() - 1) << 2);
+    FrozenMap<K, V> result = new FrozenMap<>(new Object[capacity], new Object[capacity], map.size());
+    for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+      K key = Objects.requireNonNull(e.getKey(), "FrozenMap 不支持 null 键");
+      int i = result.slot(key);
+      result.keys[i] = key;
+      result.values[i] = e.getValue();
+    }
+    return result;
+  }
+
+  /**
+   * 定位键所在槽位；键不存在时返回探测链上的第一个空槽
+   */
+  private int slot(Object key) {
+    Object[] ks = keys;
+    // Fibonacci hashing：取乘积的高位作为下标
+    int i = (key.hashCode() * 0x9E3779B9) >>> shift;
+    Object k;
+    while ((k = ks[i]) != null && !k.equals(key)) i = (i + 1) & mask;
+    return i;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key != null && keys[slot(key)] != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    if (key == null) return null;
+    return (V) values[slot(key)];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(Object key, V defaultValue) {
+    if (key == null) return defaultValue;
+    int i = slot(key);
+    return keys[i] == null ? defaultValue : (V) values[i];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    Object[] ks = keys;
+    for (int i = 0; i < ks.length; i++) {
+      if (ks[i] != null) action.accept((K) ks[i], (V) values[i]);
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    Set<Map.Entry<K, V>> es = entrySet;
+    return es != null ? es : (entrySet = new EntrySet());
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return new Iterator<>() {
+        private int next = advance(0);
+
+        private int advance(int from) {
+          while (from < keys.length && keys[from] == null) from++;
+          return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return next < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+          if (next >= keys.length) throw new NoSuchElementException();
+          int i = next;
+          next = advance(i + 1);
+          return new SimpleImmutableEntry<>((K) keys[i], (V) values[i]);
+        }
+      };
+    }
+  }
+}
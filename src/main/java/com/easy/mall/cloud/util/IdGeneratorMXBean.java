@@ -0,0 +1,40 @@
+package com.easy.mall.cloud.util;
+
+/**
+ * CodeUtil ID 生成器的 JMX 视图 (由 CodeUtil.registerIdGeneratorMBeans 注册)
+ * 计数均自上次 reset 起累计，读取时各项分别求和，不是同一时刻的原子快照。
+ */
+public interface IdGeneratorMXBean {
+
+  /**
+   * 状态预留次数 (nextId / nextIds 每次调用一次，nextIdLeased 每次续租一次)
+   */
+  long getAttempts();
+
+  /**
+   * 预留出的槽位总数，即已发放 (含租约中尚未用完) 的 ID 数
+   */
+  long getSlots();
+
+  /**
+   * CAS 竞争失败后的重试次数
+   */
+  long getRetries();
+
+  /**
+   * 序列号用尽、逻辑时间被推到下一毫秒 (秒) 的预留次数
+   */
+  long getOverflows();
+
+  /**
+   * 观测到系统时钟回拨的次数 (每次回拨只计一次)
+   */
+  long getRollbacks();
+
+  /**
+   * 逻辑时间领先系统时钟的最大毫秒数
+   */
+  long getMaxDriftMillis();
+
+  void reset();
+}
\ No newline at end of file
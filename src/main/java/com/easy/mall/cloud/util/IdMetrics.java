@@ -0,0 +1,105 @@
+package com.easy.mall.cloud.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ID 生成器计数器 (CodeUtil.reserve / reserveTime 使用)
+ * 1. 计数使用分段的 LongAdder，热路径只做一次无竞争累加；溢出、回拨、领先等分支只在少数预留中触发。
+ * 2. 回拨判断：先读 lastWallClock 再读时钟，若时钟小于此前其他线程读到并写入的值，则时钟确实倒退；
+ *    由 CAS 把 lastWallClock 改为新值，同一次回拨只有一个线程计数。
+ * 3. lastWallClock 是所有预留线程共享的一个缓存行：只在时钟确实前进时 (重新读到的值仍小于 now) 才 CAS 推进，
+ *    同一毫秒内通常只有一个线程写入，其余线程只读。
+ */
+final class IdMetrics implements IdGeneratorMXBean {
+
+  private final LongAdder attempts = new LongAdder();
+  private final LongAdder slots = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder overflows = new LongAdder();
+  private final LongAdder rollbacks = new LongAdder();
+  private final LongAccumulator maxDriftMillis = new LongAccumulator(Math::max, 0L);
+  private final AtomicLong lastWallClock = new AtomicLong();
+
+  /**
+   * 须在读取系统时钟之前调用，其返回值传给 record 的 seen
+   */
+  long lastWallClock() {
+    return lastWallClock.get();
+  }
+
+  /**
+   * 记录一次成功的预留
+   *
+   * @param now         本次读取的系统时钟 (毫秒)
+   * @param seen        读取时钟前的 lastWallClock()
+   * @param count       预留的槽位数
+   * @param retry       CAS 失败次数
+   * @param overflow    是否因序列号用尽推进了逻辑时间
+   * @param driftMillis 预留末尾槽位的逻辑时间减去系统时钟 (毫秒)
+   */
+  void record(long now, long seen, int count, int retry, boolean overflow, long driftMillis) {
+    attempts.increment();
+    slots.add(count);
+    if (retry > 0) retries.add(retry);
+    if (overflow) overflows.increment();
+    if (now > seen) {
+      advanceWallClock(now);
+    } else if (now < seen && lastWallClock.compareAndSet(seen, now)) {
+      rollbacks.increment();
+    }
+    if (driftMillis > 0) maxDriftMillis.accumulate(driftMillis);
+  }
+
+  private void advanceWallClock(long now) {
+    long current = lastWallClock.get();
+    // 其他线程已推进到 now 或更晚时直接放弃，不再写共享缓存行
+    while (now > current && !lastWallClock.compareAndSet(current, now)) current = lastWallClock.get();
+  }
+
+  CodeUtil.IdGeneratorStats snapshot() {
+    return new CodeUtil.IdGeneratorStats(attempts.sum(), slots.sum(), retries.sum(),
+        overflows.sum(), rollbacks.sum(), maxDriftMillis.get());
+  }
+
+  @Override
+  public long getAttempts() {
+    return attempts.sum();
+  }
+
+  @Override
+  public long getSlots() {
+    return slots.sum();
+  }
+
+  @Override
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  @Override
+  public long getOverflows() {
+    return overflows.sum();
+  }
+
+  @Override
+  public long getRollbacks() {
+    return rollbacks.sum();
+  }
+
+  @Override
+  public long getMaxDriftMillis() {
+    return maxDriftMillis.get();
+  }
+
+  @Override
+  public void reset() {
+    attempts.reset();
+    slots.reset();
+    retries.reset();
+    overflows.reset();
+    rollbacks.reset();
+    maxDriftMillis.reset();
+  }
+}
\ No newline at end of file
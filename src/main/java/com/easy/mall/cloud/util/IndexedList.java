@@ -0,0 +1,362 @@
+package com.easy.mall.cloud.util;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 带增量索引的列表：groupBy / convertToMap 投影随增删改实时维护，读取时无需重新分组
+ * 1. 每次 add / remove / set / update 对每个投影只做 O(1) 的调整 (摘除采用与末尾元素交换的方式)。
+ * 2. groupBy / convertToMap 返回只读的实时视图，注册一次后长期持有即可，视图随列表变化自动更新。
+ * 3. 元素按引用 (identity) 管理，同一实例不可重复加入；null 元素与 null 键不参与索引 (与 ObjUtil 一致)。
+ * 4. 删除会把末尾元素移到空位，因此列表及组内顺序在删除后不再等于插入顺序。
+ *    正因为顺序不稳定，本类只实现 Collection：按下标读取用 get(int)，需要 List 时用 asList() 只读视图，
+ *    不提供 subList / sort / add(int, V) 这类依赖位置稳定的操作。
+ * 5. 非线程安全，并发读写需由调用方加锁。
+ */
+public final class IndexedList<V> extends AbstractCollection<V> {
+
+  private final ArrayList<V> elements;
+  private final IdentityHashMap<V, Slot> slots;
+  private final List<Projection<?>> projections = new ArrayList<>(4);
+  private final List<V> listView;
+  private int modCount;
+
+  public IndexedList() {
+    this.elements = new ArrayList<>();
+    this.slots = new IdentityHashMap<>();
+    this.listView = Collections.unmodifiableList(elements);
+  }
+
+  public IndexedList(Collection<? extends V> initial) {
+    this.elements = new ArrayList<>(initial.size());
+    this.slots = new IdentityHashMap<>(initial.size());
+    this.listView = Collections.unmodifiableList(elements);
+    for (V v : initial) add(v);
+  }
+
+  /**
+   * 注册分组投影，返回 Map<K, List<V>> 实时只读视图
+   * 组内列表在未发生删除时按加入顺序排列；组内删除后由该组末尾元素补位，不再保持加入顺序
+   * (与 ObjUtil.groupBy 的遇见顺序不同)。
+   */
+  public <K> Map<K, List<V>> groupBy(Function<? super V, ? extends K> keyMapper) {
+    return new GroupView<>(register(keyMapper));
+  }
+
+  /**
+   * 注册唯一键投影，返回 Map<K, V> 实时只读视图
+   * 键重复时取该键当前组内的首个元素：未发生删除时即为最先加入的元素；
+   * 该元素被删除后由该组当前末尾的元素顶替，不一定是次早加入的元素 (不同于 ObjUtil.convertToMap 的先到优先)。
+   */
+  public <K> Map<K, V> convertToMap(Function<? super V, ? extends K> keyMapper) {
+    return new UniqueView<>(register(keyMapper));
+  }
+
+  /**
+   * 元素在原地被修改后调用，重新计算其所有投影键；键未变化的投影不做任何调整
+   */
+  public void update(V element) {
+    Slot slot = slots.get(element);
+    if (slot == null) throw new NoSuchElementException("元素不在列表中");
+    for (int i = 0; i < projections.size(); i++) projections.get(i).rekey(slot, element);
+  }
+
+  /**
+   * 当前顺序下的只读 List 视图 (实时反映增删改，RandomAccess)，可直接用于排序拷贝、subList 读取等
+   */
+  public List<V> asList() {
+    return listView;
+  }
+
+  public V get(int index) {
+    return elements.get(index);
+  }
+
+  @Override
+  public int size() {
+    return elements.size();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return slots.containsKey(o);
+  }
+
+  @Override
+  public boolean add(V element) {
+    Objects.requireNonNull(element, "IndexedList 不支持 null 元素");
+    if (slots.containsKey(element)) throw new IllegalArgumentException("同一实例不可重复加入");
+    Slot slot = new Slot(elements.size(), projections.size());
+    slots.put(element, slot);
+    elements.add(element);
+    for (int i = 0; i < projections.size(); i++) projections.get(i).attach(slot, element);
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    Slot slot = slots.remove(o);
+    if (slot == null) return false;
+    @SuppressWarnings("unchecked") V element = (V) o;
+    for (int i = 0; i < projections.size(); i++) projections.get(i).detach(slot, element);
+
+    // 与末尾元素交换后删除，O(1)
+    V last = elements.removeLast();
+    if (last != element) {
+      elements.set(slot.position, last);
+      slots.get(last).position = slot.position;
+    }
+    modCount++;
+    return true;
+  }
+
+  /**
+   * 删除指定位置的元素，末尾元素会移到该位置
+   */
+  public V remove(int index) {
+    V element = elements.get(index);
+    remove(element);
+    return element;
+  }
+
+  /**
+   * 替换指定位置的元素 (适用于不可变对象的更新)，位置保持不变
+   */
+  public V set(int index, V element) {
+    Objects.requireNonNull(element, "IndexedList 不支持 null 元素");
+    V old = elements.get(index);
+    if (old == element) return old;
+    if (slots.containsKey(element)) throw new IllegalArgumentException("同一实例不可重复加入");
+
+    Slot slot = slots.remove(old);
+    for (int i = 0; i < projections.size(); i++) projections.get(i).detach(slot, old);
+    slots.put(element, slot);
+    elements.set(index, element);
+    for (int i = 0; i < projections.size(); i++) projections.get(i).attach(slot, element);
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    elements.clear();
+    slots.clear();
+    for (Projection<?> p : projections) p.groups = null;
+    modCount++;
+  }
+
+  /**
+   * 按当前位置顺序遍历；迭代器 remove 后末尾元素补入当前空位，游标回退一格以免漏掉它
+   */
+  @Override
+  public Iterator<V> iterator() {
+    return new Iterator<>() {
+      int cursor;
+      int lastReturned = -1;
+      int expectedModCount = modCount;
+
+      @Override
+      public boolean hasNext() {
+        return cursor < elements.size();
+      }
+
+      @Override
+      public V next() {
+        checkForComodification();
+        if (cursor >= elements.size()) throw new NoSuchElementException();
+        lastReturned = cursor;
+        return elements.get(cursor++);
+      }
+
+      @Override
+      public void remove() {
+        if (lastReturned < 0) throw new IllegalStateException();
+        checkForComodification();
+        IndexedList.this.remove(lastReturned);
+        cursor = lastReturned;
+        lastReturned = -1;
+        expectedModCount = modCount;
+      }
+
+      private void checkForComodification() {
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+      }
+    };
+  }
+
+  private <K> Projection<K> register(Function<? super V, ? extends K> keyMapper) {
+    Projection<K> projection = new Projection<>(projections.size(), keyMapper);
+    projections.add(projection);
+    // 已有元素回填一次，之后全部增量维护
+    for (V v : elements) {
+      Slot slot = slots.get(v);
+      slot.grow(projections.size());
+      projection.attach(slot, v);
+    }
+    return projection;
+  }
+
+  /**
+   * 元素的索引簿记：在列表中的位置，以及在每个投影中的键和组内位置
+   */
+  private static final class Slot {
+    int position;
+    Object[] keys;
+    int[] groupPositions;
+
+    Slot(int position, int projectionCount) {
+      this.position = position;
+      this.keys = new Object[projectionCount];
+      this.groupPositions = new int[projectionCount];
+    }
+
+    void grow(int projectionCount) {
+      if (keys.length >= projectionCount) return;
+      keys = Arrays.copyOf(keys, projectionCount);
+      groupPositions = Arrays.copyOf(groupPositions, projectionCount);
+    }
+  }
+
+  private static final class Group<V> {
+    final ArrayList<V> items = new ArrayList<>(4);
+    final List<V> view = Collections.unmodifiableList(items);
+  }
+
+  private final class Projection<K> {
+    final int id;
+    final Function<? super V, ? extends K> keyMapper;
+    Map<K, Group<V>> groups;
+    Class<?> keyType;
+
+    Projection(int id, Function<? super V, ? extends K> keyMapper) {
+      this.id = id;
+      this.keyMapper = keyMapper;
+    }
+
+    void attach(Slot slot, V element) {
+      K key = keyMapper.apply(element);
+      slot.keys[id] = key;
+      if (key == null) return;
+      if (groups == null) keyType = ObjUtil.keyTypeOf(key);
+      groups = ObjUtil.fitKey(groups, keyType, key, 16);
+      Group<V> group = groups.computeIfAbsent(key, k -> new Group<>());
+      slot.groupPositions[id] = group.items.size();
+      group.items.add(element);
+    }
+
+    @SuppressWarnings("unchecked")
+    void detach(Slot slot, V element) {
+      K key = (K) slot.keys[id];
+      if (key == null) return;
+      Group<V> group = groups.get(key);
+      int pos = slot.groupPositions[id];
+      V last = group.items.removeLast();
+      if (last != element) {
+        group.items.set(pos, last);
+        slots.get(last).groupPositions[id] = pos;
+      }
+      if (group.items.isEmpty()) groups.remove(key);
+      slot.keys[id] = null;
+    }
+
+    void rekey(Slot slot, V element) {
+      if (Objects.equals(slot.keys[id], keyMapper.apply(element))) return;
+      detach(slot, element);
+      attach(slot, element);
+    }
+  }
+
+  private final class GroupView<K> extends AbstractMap<K, List<V>> {
+    private final Projection<K> projection;
+
+    GroupView(Projection<K> projection) {
+      this.projection = projection;
+    }
+
+    @Override
+    public int size() {
+      return projection.groups == null ? 0 : projection.groups.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return projection.groups != null && key != null && projection.groups.containsKey(key);
+    }
+
+    @Override
+    public List<V> get(Object key) {
+      if (projection.groups == null || key == null) return null;
+      Group<V> group = projection.groups.get(key);
+      return group == null ? null : group.view;
+    }
+
+    @Override
+    public Set<Map.Entry<K, List<V>>> entrySet() {
+      return new ProjectedEntrySet<>(projection, g -> g.view);
+    }
+  }
+
+  private final class UniqueView<K> extends AbstractMap<K, V> {
+    private final Projection<K> projection;
+
+    UniqueView(Projection<K> projection) {
+      this.projection = projection;
+    }
+
+    @Override
+    public int size() {
+      return projection.groups == null ? 0 : projection.groups.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return projection.groups != null && key != null && projection.groups.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+      if (projection.groups == null || key == null) return null;
+      Group<V> group = projection.groups.get(key);
+      return group == null ? null : group.items.getFirst();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+      return new ProjectedEntrySet<>(projection, g -> g.items.getFirst());
+    }
+  }
+
+  private static final class ProjectedEntrySet<K, V, R> extends AbstractSet<Map.Entry<K, R>> {
+    private final IndexedList<V>.Projection<K> projection;
+    private final Function<Group<V>, R> valueOf;
+
+    ProjectedEntrySet(IndexedList<V>.Projection<K> projection, Function<Group<V>, R> valueOf) {
+      this.projection = projection;
+      this.valueOf = valueOf;
+    }
+
+    @Override
+    public int size() {
+      return projection.groups == null ? 0 : projection.groups.size();
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, R>> iterator() {
+      if (projection.groups == null) return Collections.emptyIterator();
+      Iterator<Map.Entry<K, Group<V>>> it = projection.groups.entrySet().iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return it.hasNext();
+        }
+
+        @Override
+        public Map.Entry<K, R> next() {
+          Map.Entry<K, Group<V>> e = it.next();
+          return new AbstractMap.SimpleImmutableEntry<>(e.getKey(), valueOf.apply(e.getValue()));
+        }
+      };
+    }
+  }
+}
\ No newline at end of file
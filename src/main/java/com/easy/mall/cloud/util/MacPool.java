@@ -0,0 +1,175 @@
+package com.easy.mall.cloud.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 按 (算法, 密钥) 缓存的 Mac 池 (CodeUtil.hmac 系列使用)
+ * 1. 每个密钥一个池：原型 Mac 只 init 一次，新实例由 clone 得到 (已带密钥)，省去每次 getInstance + init；
+ *    原型只用于派生，从不借出，因此 clone 时没有并发修改。
+ * 2. 查找无锁：先查当前线程所属条带最近用过的池 (比较算法与密钥内容，不分配、不算 hash)，
+ *    未命中再查 ConcurrentHashMap；热路径上没有 synchronized，不会钉住虚拟线程的载体线程。
+ * 3. 密钥数量有上限，近似 LRU：每个池记录最近一次使用时的纪元 (只在纪元变化时写一次)，
+ *    新建池后超出上限时由一个线程淘汰纪元最早的池，直到降到上限的 7/8；被淘汰池中借出的实例归还后随池一起回收。
+ * 4. 池内以条带池 (StripedPool) 复用实例，借还无锁，原因同 DigestPool：虚拟线程下不宜使用 ThreadLocal；
+ *    密钥数可达上千，槽位不做缓存行填充，以免每个池占用过多内存。
+ * 可调参数 (系统属性)：code.util.hmac.maxKeys 缓存的密钥数上限，默认 1024
+ */
+final class MacPool {
+
+  private static final int MAX_KEYS = Math.max(1, Integer.getInteger("code.util.hmac.maxKeys", 1024));
+  private static final Map<KeyId, MacPool> POOLS = new ConcurrentHashMap<>();
+  private static final AtomicReferenceArray<MacPool> RECENT = new AtomicReferenceArray<>(StripedPool.STRIPES);
+  private static final ReentrantLock EVICTION = new ReentrantLock();
+  // 每新建一个池加一，池的 lastUsed 与之比较即可知道谁更久未用
+  private static volatile long epoch;
+
+  private final String algorithm;
+  private final byte[] keyBytes;
+  private final SecretKeySpec key;
+  private final Mac prototype;
+  private final StripedPool<Mac> idle = new StripedPool<>(1);
+  private volatile long lastUsed;
+
+  private MacPool(String algorithm, byte[] key) {
+    this.algorithm = algorithm;
+    this.keyBytes = key;
+    this.key = new SecretKeySpec(key, algorithm);
+    Mac mac = newMac(this.key);
+    this.prototype = isCloneable(mac) ? mac : null;
+  }
+
+  static MacPool of(String algorithm, byte[] key) {
+    int stripe = StripedPool.stripe();
+    MacPool pool = RECENT.get(stripe);
+    if (pool == null || !pool.matches(algorithm, key)) {
+      pool = POOLS.get(new KeyId(algorithm, key));
+      if (pool == null) pool = create(algorithm, key);
+      RECENT.lazySet(stripe, pool);
+    }
+    long now = epoch;
+    if (pool.lastUsed != now) pool.lastUsed = now;
+    return pool;
+  }
+
+  private boolean matches(String algorithm, byte[] key) {
+    return this.algorithm.equals(algorithm) && Arrays.equals(keyBytes, key);
+  }
+
+  private static MacPool create(String algorithm, byte[] key) {
+    // getInstance + init 在 Map 之外完成；并发创建时保留先放入的那个
+    byte[] copy = key.clone();
+    MacPool created = new MacPool(algorithm, copy);
+    MacPool existing = POOLS.putIfAbsent(new KeyId(algorithm, copy), created);
+    if (existing != null) return existing;
+    epoch++;  // 只有新建池的线程写入，偶发的丢失更新只影响淘汰的近似程度
+    if (POOLS.size() > MAX_KEYS) evict();
+    return created;
+  }
+
+  /**
+   * 淘汰 lastUsed 最早的池直到降到上限的 7/8；已有线程在淘汰时直接返回
+   */
+  private static void evict() {
+    if (!EVICTION.tryLock()) return;
+    try {
+      int excess = POOLS.size() - MAX_KEYS * 7 / 8;
+      if (excess <= 0) return;
+      // 先取 lastUsed 快照再排序，避免排序期间被其他线程改写导致比较结果前后矛盾
+      List<Candidate> candidates = new ArrayList<>(POOLS.size());
+      POOLS.forEach((id, pool) -> candidates.add(new Candidate(id, pool, pool.lastUsed)));
+      candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+      for (int i = 0; i < excess && i < candidates.size(); i++) {
+        POOLS.remove(candidates.get(i).id(), candidates.get(i).pool());
+      }
+    } finally {
+      EVICTION.unlock();
+    }
+  }
+
+  /**
+   * 借用一个实例，由 feeder 写入数据后返回 MAC 字节
+   */
+  byte[] mac(Consumer<Mac> feeder) {
+    Mac mac = acquire();
+    try {
+      feeder.accept(mac);
+      return mac.doFinal();
+    } finally {
+      release(mac);
+    }
+  }
+
+  private Mac acquire() {
+    Mac mac = idle.poll();
+    return mac != null ? mac : newInstance();
+  }
+
+  private void release(Mac mac) {
+    mac.reset();
+    idle.offer(mac);
+  }
+
+  private Mac newInstance() {
+    if (prototype != null) {
+      try {
+        return (Mac) prototype.clone();
+      } catch (CloneNotSupportedException ignored) {
+        // 构造时已探测过，不会发生
+      }
+    }
+    return newMac(key);
+  }
+
+  private static Mac newMac(SecretKeySpec key) {
+    String algorithm = key.getAlgorithm();
+    try {
+      Mac mac = Mac.getInstance(algorithm);
+      mac.init(key);
+      return mac;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("JVM environment error: " + algorithm + " not found", e);
+    } catch (InvalidKeyException e) {
+      throw new IllegalArgumentException("无效的 " + algorithm + " 密钥", e);
+    }
+  }
+
+  private static boolean isCloneable(Mac mac) {
+    try {
+      mac.clone();
+      return true;
+    } catch (CloneNotSupportedException e) {
+      return false;
+    }
+  }
+
+  private record Candidate(KeyId id, MacPool pool, long lastUsed) {
+  }
+
+  /**
+   * 池的键：算法 + 密钥内容；放入缓存时持有密钥的副本，查询时直接引用调用方数组 (仅条带缓存未命中时才创建)
+   */
+  private record KeyId(String algorithm, byte[] key) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof KeyId other && algorithm.equals(other.algorithm) && Arrays.equals(key, other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return algorithm.hashCode() * 31 + Arrays.hashCode(key);
+    }
+  }
+}
\ No newline at end of file
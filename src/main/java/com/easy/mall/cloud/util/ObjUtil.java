@@ -1,8 +1,10 @@
 package com.easy.mall.cloud.util;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.*;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 /**
  * ObjUtil - 核心通用工具类
@@ -529,6 +531,26 @@ public final class ObjUtil {
     public Map<K, V> build() {
       return this.map;
     }
+
+    /**
+     * 构建只读字典表，适用于构建后只读不写的常驻查找表
+     */
+    public Map<K, V> freeze() {
+      return ObjUtil.freeze(this.map);
+    }
+  }
+
+  /**
+   * 冻结为只读 Map，例如 freeze(convertToMap(regions, Region::getCode))
+   * 结果是快照，之后修改源 Map 不影响冻结结果。
+   * EnumMap / DenseIntMap 本身即数组寻址，复制一份后包装只读视图；其余转为开放寻址的 FrozenMap。
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> Map<K, V> freeze(Map<K, V> map) {
+    if (isEmpty(map)) return Map.of();
+    if (map instanceof EnumMap<?, ?> enumMap) return (Map<K, V>) Collections.unmodifiableMap(new EnumMap<>(enumMap));
+    if (map instanceof DenseIntMap<?> dense) return (Map<K, V>) Collections.unmodifiableMap(new DenseIntMap<>(dense));
+    return FrozenMap.copyOf(map);
   }
 
   public static <T> Set<T> asSet(T[] array) {
@@ -690,85 +712,136 @@ public final class ObjUtil {
   }
 
   /**
-   * List 转 Map (V 为原元素，冲突取先到)
+   * List 转 Map (V 为原元素，冲突取先到)；按首个非 null 键的类型挑选实现 (见 newKeyedMap)
    */
   public static <K, V> Map<K, V> convertToMap(List<V> list, Function<? super V, ? extends K> keyMapper) {
+    return convertToMap(list, (Class<K>) null, keyMapper);
+  }
+
+  /**
+   * List 转 Map，keyType 显式指定键类型 (覆盖按首个键的自动识别，如传 Object.class 固定返回 HashMap)
+   */
+  public static <K, V> Map<K, V> convertToMap(List<V> list, Class<K> keyType, Function<? super V, ? extends K> keyMapper) {
     if (isEmpty(list)) return Map.of();
 
-    Map<K, V> map = HashMap.newHashMap(list.size());
+    Map<K, V> map = null;
+    Class<?> type = keyType;
     for (V v : list) {
       if (v == null) continue;
       K key = keyMapper.apply(v);
-      if (key != null) map.putIfAbsent(key, v);
+      if (key == null) continue;
+      if (map == null && type == null) type = keyTypeOf(key);
+      map = fitKey(map, type, key, list.size());
+      map.putIfAbsent(key, v);
     }
-    return map;
+    return map == null ? HashMap.newHashMap(0) : map;
   }
 
   /**
    * List 转 Map (R 为 Value，冲突取先到)
    */
   public static <K, V, R> Map<K, R> convertToMap(List<V> list, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends R> valueMapper) {
+    return convertToMap(list, (Class<K>) null, keyMapper, valueMapper);
+  }
+
+  /**
+   * List 转 Map (R 为 Value，冲突取先到，keyType 为键类型覆盖)
+   */
+  public static <K, V, R> Map<K, R> convertToMap(List<V> list, Class<K> keyType, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends R> valueMapper) {
     if (isEmpty(list)) return Map.of();
 
-    Map<K, R> map = HashMap.newHashMap(list.size());
+    Map<K, R> map = null;
+    Class<?> type = keyType;
     for (V v : list) {
       if (v == null) continue;
       K key = keyMapper.apply(v);
       R val = valueMapper.apply(v);
-      if (key != null && val != null) map.putIfAbsent(key, val);
+      if (key == null || val == null) continue;
+      if (map == null && type == null) type = keyTypeOf(key);
+      map = fitKey(map, type, key, list.size());
+      map.putIfAbsent(key, val);
     }
-    return map;
+    return map == null ? HashMap.newHashMap(0) : map;
   }
 
   /**
    * List 转 Map (带自定义 mergeFunction)
    */
   public static <K, V, R> Map<K, R> convertToMap(List<V> list, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends R> valueMapper, BinaryOperator<R> mergeFunction) {
+    return convertToMap(list, null, keyMapper, valueMapper, mergeFunction);
+  }
+
+  /**
+   * List 转 Map (带自定义 mergeFunction，keyType 为键类型覆盖)
+   */
+  public static <K, V, R> Map<K, R> convertToMap(List<V> list, Class<K> keyType, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends R> valueMapper, BinaryOperator<R> mergeFunction) {
     if (isEmpty(list)) return Map.of();
 
-    Map<K, R> map = HashMap.newHashMap(list.size());
+    Map<K, R> map = null;
+    Class<?> type = keyType;
     for (V v : list) {
       if (v == null) continue;
       K key = keyMapper.apply(v);
       R val = valueMapper.apply(v);
-      if (key != null && val != null) map.merge(key, val, mergeFunction);
+      if (key == null || val == null) continue;
+      if (map == null && type == null) type = keyTypeOf(key);
+      map = fitKey(map, type, key, list.size());
+      map.merge(key, val, mergeFunction);
     }
-    return map;
+    return map == null ? HashMap.newHashMap(0) : map;
   }
 
   /**
    * 分组 (值为原元素列表)
    */
   public static <K, V> Map<K, List<V>> groupBy(List<V> list, Function<? super V, ? extends K> keyMapper) {
+    return groupBy(list, (Class<K>) null, keyMapper);
+  }
+
+  /**
+   * 分组 (值为原元素列表，keyType 为键类型覆盖)
+   */
+  public static <K, V> Map<K, List<V>> groupBy(List<V> list, Class<K> keyType, Function<? super V, ? extends K> keyMapper) {
     if (isEmpty(list)) return Map.of();
 
-    Map<K, List<V>> map = HashMap.newHashMap(list.size() / 2);
+    Map<K, List<V>> map = null;
+    Class<?> type = keyType;
     for (V v : list) {
       if (v == null) continue;
       K key = keyMapper.apply(v);
-      if (key != null) {
-        map.computeIfAbsent(key, i -> new ArrayList<>()).add(v);
-      }
+      if (key == null) continue;
+      if (map == null && type == null) type = keyTypeOf(key);
+      map = fitKey(map, type, key, list.size() / 2);
+      map.computeIfAbsent(key, i -> new ArrayList<>()).add(v);
     }
-    return map;
+    return map == null ? HashMap.newHashMap(0) : map;
   }
 
   /**
    * 分组并映射值列表
    */
   public static <K, V, R> Map<K, List<R>> groupBy(List<V> list, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends R> valueMapper) {
+    return groupBy(list, null, keyMapper, valueMapper);
+  }
+
+  /**
+   * 分组并映射值列表 (keyType 为键类型覆盖)
+   */
+  public static <K, V, R> Map<K, List<R>> groupBy(List<V> list, Class<K> keyType, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends R> valueMapper) {
     if (isEmpty(list)) return Map.of();
 
-    Map<K, List<R>> map = HashMap.newHashMap(list.size() / 2);
+    Map<K, List<R>> map = null;
+    Class<?> type = keyType;
     for (V v : list) {
       if (v == null) continue;
       K key = keyMapper.apply(v);
       R val = valueMapper.apply(v);
-      if (key != null) {
-        map.computeIfAbsent(key, i -> new ArrayList<>()).add(val);
-      }
+      if (key == null) continue;
+      if (map == null && type == null) type = keyTypeOf(key);
+      map = fitKey(map, type, key, list.size() / 2);
+      map.computeIfAbsent(key, i -> new ArrayList<>()).add(val);
     }
-    return map;
+    return map == null ? HashMap.newHashMap(0) : map;
   }
 
   /**
@@ -777,17 +850,197 @@ public final class ObjUtil {
   public static <T, K> Map<K, Integer> groupBySum(Collection<T> collection,
                                                   Function<? super T, ? extends K> keyMapper,
                                                   ToIntFunction<? super T> valueMapper) {
+    return groupBySum(collection, null, keyMapper, valueMapper);
+  }
+
+  /**
+   * 分组求和工具 (keyType 为键类型覆盖)
+   */
+  public static <T, K> Map<K, Integer> groupBySum(Collection<T> collection, Class<K> keyType,
+                                                  Function<? super T, ? extends K> keyMapper,
+                                                  ToIntFunction<? super T> valueMapper) {
     if (isEmpty(collection)) return HashMap.newHashMap(0);
-    Map<K, Integer> result = HashMap.newHashMap(collection.size());
+    Map<K, Integer> result = null;
+    Class<?> type = keyType;
     for (T item : collection) {
       if (item == null) continue;
       K key = keyMapper.apply(item);
       if (key == null) continue;
+      if (result == null && type == null) type = keyTypeOf(key);
+      result = fitKey(result, type, key, collection.size());
 
       int val = valueMapper.applyAsInt(item);
       result.merge(key, val, Integer::sum);
     }
-    return result;
+    return result == null ? HashMap.newHashMap(0) : result;
+  }
+
+  /**
+   * 内连接结果对
+   */
+  public record Joined<L, R>(L left, R right) {
+  }
+
+  /**
+   * 内连接 (Hash Join)：自动以较小一侧建哈希表，较大一侧探测
+   * 输出顺序跟随探测侧；同一键的多条匹配按建表侧原顺序输出。探测侧超过阈值时并行探测 (结果顺序不变)，返回只读列表。
+   */
+  public static <L, R, K, O> List<O> join(Collection<L> left, Function<? super L, ? extends K> leftKey,
+                                          Collection<R> right, Function<? super R, ? extends K> rightKey,
+                                          BiFunction<? super L, ? super R, ? extends O> combiner) {
+    if (isEmpty(left) || isEmpty(right)) return Collections.emptyList();
+
+    if (left.size() < right.size()) {
+      Map<K, Object> table = buildJoinTable(left, leftKey);
+      return probe(right, (R r, Consumer<O> sink) -> {
+        K key = rightKey.apply(r);
+        if (key != null) emitMatches(table.get(key), (L l) -> sink.accept(combiner.apply(l, r)));
+      });
+    }
+    Map<K, Object> table = buildJoinTable(right, rightKey);
+    return probe(left, (L l, Consumer<O> sink) -> {
+      K key = leftKey.apply(l);
+      if (key != null) emitMatches(table.get(key), (R r) -> sink.accept(combiner.apply(l, r)));
+    });
+  }
+
+  public static <L, R, K> List<Joined<L, R>> join(Collection<L> left, Function<? super L, ? extends K> leftKey,
+                                                  Collection<R> right, Function<? super R, ? extends K> rightKey) {
+    return join(left, leftKey, right, rightKey, Joined::new);
+  }
+
+  /**
+   * 左连接：左侧每个元素至少输出一次，无匹配时右值为 null
+   * 左侧必须完整保留，因此固定以右侧建表、左侧探测，输出顺序跟随左侧。
+   */
+  public static <L, R, K, O> List<O> leftJoin(Collection<L> left, Function<? super L, ? extends K> leftKey,
+                                              Collection<R> right, Function<? super R, ? extends K> rightKey,
+                                              BiFunction<? super L, ? super R, ? extends O> combiner) {
+    if (isEmpty(left)) return Collections.emptyList();
+
+    Map<K, Object> table = isEmpty(right) ? Map.of() : buildJoinTable(right, rightKey);
+    return probe(left, (L l, Consumer<O> sink) -> {
+      K key = leftKey.apply(l);
+      Object hit = key == null ? null : table.get(key);
+      if (hit == null) sink.accept(combiner.apply(l, null));
+      else emitMatches(hit, (R r) -> sink.accept(combiner.apply(l, r)));
+    });
+  }
+
+  public static <L, R, K> List<Joined<L, R>> leftJoin(Collection<L> left, Function<? super L, ? extends K> leftKey,
+                                                      Collection<R> right, Function<? super R, ? extends K> rightKey) {
+    return leftJoin(left, leftKey, right, rightKey, Joined::new);
+  }
+
+  /**
+   * 分组连接：左侧每个元素输出一次，携带右侧全部匹配元素 (无匹配时为空列表)
+   */
+  public static <L, R, K, O> List<O> groupJoin(Collection<L> left, Function<? super L, ? extends K> leftKey,
+                                               Collection<R> right, Function<? super R, ? extends K> rightKey,
+                                               BiFunction<? super L, ? super List<R>, ? extends O> combiner) {
+    if (isEmpty(left)) return Collections.emptyList();
+
+    Map<K, List<R>> groups = HashMap.newHashMap(isEmpty(right) ? 0 : right.size());
+    if (isNotEmpty(right)) {
+      for (R r : right) {
+        if (r == null) continue;
+        K key = rightKey.apply(r);
+        if (key != null) groups.computeIfAbsent(key, i -> new ArrayList<>(2)).add(r);
+      }
+    }
+    return probe(left, (L l, Consumer<O> sink) -> {
+      K key = leftKey.apply(l);
+      List<R> matched = key == null ? null : groups.get(key);
+      sink.accept(combiner.apply(l, matched == null ? Collections.emptyList() : matched));
+    });
+  }
+
+  /**
+   * 建表：唯一键直接存元素本身，只有键重复时才升级为 JoinBucket，避免为每个键分配 List
+   * 连接键多为 id 这类大范围整数，DenseIntMap 只对 [0, 1024) 有效，其余会落进未预分配的溢出区反复扩容，
+   * 因此固定按建表侧大小预分配 HashMap。
+   */
+  private static <T, K> Map<K, Object> buildJoinTable(Collection<T> side, Function<? super T, ? extends K> keyMapper) {
+    Map<K, Object> table = HashMap.newHashMap(side.size());
+    for (T item : side) {
+      if (item == null) continue;
+      K key = keyMapper.apply(item);
+      if (key == null) continue;
+      Object existing = table.putIfAbsent(key, item);
+      if (existing instanceof JoinBucket bucket) {
+        bucket.add(item);
+      } else if (existing != null) {
+        JoinBucket bucket = new JoinBucket();
+        bucket.add(existing);
+        bucket.add(item);
+        table.put(key, bucket);
+      }
+    }
+    return table;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void emitMatches(Object hit, Consumer<T> action) {
+    if (hit instanceof JoinBucket bucket) {
+      for (Object item : bucket) action.accept((T) item);
+    } else if (hit != null) {
+      action.accept((T) hit);
+    }
+  }
+
+  /**
+   * 探测侧驱动输出：小数据量 for 循环直接写入预分配列表，超过阈值走有序并行流 (mapMulti 不产生中间集合)
+   * 两条路径均返回只读列表。
+   */
+  private static <P, O> List<O> probe(Collection<P> probeSide, BiConsumer<P, Consumer<O>> emitter) {
+    if (probeSide.size() >= PARALLEL_THRESHOLD) {
+      return probeSide.parallelStream().filter(Objects::nonNull).<O>mapMulti(emitter::accept).toList();
+    }
+    List<O> result = new ArrayList<>(probeSide.size());
+    Consumer<O> sink = result::add;
+    for (P p : probeSide) {
+      if (p != null) emitter.accept(p, sink);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private static final class JoinBucket extends ArrayList<Object> {
+    JoinBucket() {
+      super(4);
+    }
+  }
+
+  /**
+   * 按键类型挑选 Map 实现 (keyType 默认取首个非 null 键的类型，为 null 时即 HashMap)
+   * 1. 枚举：EnumMap，按 ordinal 下标存取，无需 hash。
+   * 2. Integer：DenseIntMap，小范围非负键 (状态码) 走数组，其余键自动退化为 HashMap。
+   * 3. 其他：预分配容量的 HashMap。
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static <K, V> Map<K, V> newKeyedMap(Class<?> keyType, int expectedSize) {
+    if (keyType != null && keyType.isEnum()) return new EnumMap(keyType);
+    if (keyType == Integer.class) return (Map<K, V>) new DenseIntMap<V>();
+    return HashMap.newHashMap(expectedSize);
+  }
+
+  /**
+   * 写入前保证 Map 实现能接收该键：map 为 null 时按 keyType 新建；
+   * EnumMap / DenseIntMap 遇到其他类型的键 (如枚举后出现 String、Integer 后出现 Long) 时，
+   * 把已有映射整体复制到 HashMap 后继续写入，而不是抛 ClassCastException。
+   */
+  static <K, V> Map<K, V> fitKey(Map<K, V> map, Class<?> keyType, K key, int expectedSize) {
+    if (map == null) map = newKeyedMap(keyType, expectedSize);
+    if (map instanceof HashMap<K, V> || keyType.isInstance(key)) return map;
+    Map<K, V> upgraded = HashMap.newHashMap(Math.max(expectedSize, map.size() + 1));
+    upgraded.putAll(map);
+    return upgraded;
+  }
+
+  /**
+   * 以首个键的类型作为键类型；带常量体的枚举取其声明类
+   */
+  static Class<?> keyTypeOf(Object key) {
+    return key instanceof Enum<?> e ? e.getDeclaringClass() : key.getClass();
   }
 
   /**
@@ -807,4 +1060,211 @@ public final class ObjUtil {
     }
     return result;
   }
+
+  /**
+   * Top-K：返回按 comparator 排序后的前 k 个元素 (结果有序)，不修改原集合
+   * 基于容量为 k 的堆，O(n log k)，只额外占用 k 个槽位；null 元素跳过，相等元素间的先后不保证。
+   * 例：销量前 50 → topK(skus, 50, Comparator.comparingInt(Sku::getSales).reversed())
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> List<T> topK(Collection<T> collection, int k, Comparator<? super T> comparator) {
+    if (isEmpty(collection) || k <= 0) return Collections.emptyList();
+
+    Object[] heap = new Object[Math.min(k, collection.size())];
+    int size = 0;
+    for (T item : collection) {
+      if (item == null) continue;
+      if (size < heap.length) {
+        siftUp(heap, size++, item, comparator);
+      } else if (comparator.compare(item, (T) heap[0]) < 0) {
+        // 比堆顶 (当前保留的最差元素) 更优才替换
+        siftDown(heap, size, item, comparator);
+      }
+    }
+    Object[] result = size == heap.length ? heap : Arrays.copyOf(heap, size);
+    Arrays.sort((T[]) result, comparator);
+    return Arrays.asList((T[]) result);
+  }
+
+  /**
+   * 并行 Top-K：分块各自求 Top-K，再两两归并有序结果；数据量低于阈值时退化为 topK
+   */
+  public static <T> List<T> topKParallel(List<T> list, int k, Comparator<? super T> comparator) {
+    if (size(list) < PARALLEL_THRESHOLD) return topK(list, k, comparator);
+    if (k <= 0) return Collections.emptyList();
+
+    int chunkSize = Math.max(k, list.size() / (Runtime.getRuntime().availableProcessors() * 4) + 1);
+    List<List<T>> chunks = chunk(list, chunkSize);
+    return IntStream.range(0, chunks.size()).parallel()
+        .mapToObj(i -> topK(chunks.get(i), k, comparator))
+        .reduce((a, b) -> mergeSortedPrefix(a, b, k, comparator))
+        .orElse(Collections.emptyList());
+  }
+
+  /**
+   * 原地部分排序：调整 list 使前 k 位恰为排序后的前 k 个元素 (有序)，返回该前缀的 subList 视图
+   * 三路快速选择 + 前缀排序，期望 O(n + k log k)，不复制列表；k 之后元素的顺序不保证。
+   * 非 RandomAccess 列表无法高效原地交换，退化为 topK (不修改原列表)；元素不可为 null (除非 comparator 支持)。
+   */
+  public static <T> List<T> sortedPrefix(List<T> list, int k, Comparator<? super T> comparator) {
+    if (isEmpty(list) || k <= 0) return Collections.emptyList();
+    if (!(list instanceof RandomAccess)) return topK(list, k, comparator);
+
+    int n = Math.min(k, list.size());
+    if (n < list.size()) quickSelect(list, n, comparator);
+    List<T> prefix = list.subList(0, n);
+    prefix.sort(comparator);
+    return prefix;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void siftUp(Object[] heap, int index, T item, Comparator<? super T> comparator) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      Object p = heap[parent];
+      if (comparator.compare(item, (T) p) <= 0) break;
+      heap[index] = p;
+      index = parent;
+    }
+    heap[index] = item;
+  }
+
+  /**
+   * 以 item 替换堆顶并下沉 (大顶堆：堆顶为 comparator 意义下最大的元素)
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> void siftDown(Object[] heap, int size, T item, Comparator<? super T> comparator) {
+    int index = 0;
+    int half = size >>> 1;
+    while (index < half) {
+      int child = (index << 1) + 1;
+      int right = child + 1;
+      if (right < size && comparator.compare((T) heap[right], (T) heap[child]) > 0) child = right;
+      if (comparator.compare(item, (T) heap[child]) >= 0) break;
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = item;
+  }
+
+  private static <T> List<T> mergeSortedPrefix(List<T> a, List<T> b, int k, Comparator<? super T> comparator) {
+    int total = Math.min(k, a.size() + b.size());
+    List<T> merged = new ArrayList<>(total);
+    int i = 0, j = 0;
+    while (merged.size() < total) {
+      // 相等时取左侧，保持分块先后
+      if (j >= b.size() || (i < a.size() && comparator.compare(a.get(i), b.get(j)) <= 0)) merged.add(a.get(i++));
+      else merged.add(b.get(j++));
+    }
+    return merged;
+  }
+
+  /**
+   * 三路划分的快速选择：结束后 [0, k) 为最小的 k 个元素 (无序)，大量重复键时同样保持线性
+   */
+  private static <T> void quickSelect(List<T> list, int k, Comparator<? super T> comparator) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int lo = 0, hi = list.size() - 1;
+    while (lo < hi) {
+      T pivot = list.get(lo + random.nextInt(hi - lo + 1));
+      int lt = lo, i = lo, gt = hi;
+      while (i <= gt) {
+        int c = comparator.compare(list.get(i), pivot);
+        if (c < 0) Collections.swap(list, lt++, i++);
+        else if (c > 0) Collections.swap(list, i, gt--);
+        else i++;
+      }
+      // [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+      if (k < lt) hi = lt - 1;
+      else if (k > gt + 1) lo = gt + 1;
+      else return;
+    }
+  }
+
+  /**
+   * 按固定大小切分列表 (如 IN 查询分批)，返回 subList 视图，不复制元素；最后一块可能不足 size
+   * 视图与原列表共享数据，原列表发生结构性修改后视图失效。
+   */
+  public static <T> List<List<T>> chunk(List<T> list, int size) {
+    if (size <= 0) throw new IllegalArgumentException("chunk size 必须大于 0");
+    if (isEmpty(list)) return Collections.emptyList();
+    return new Chunks<>(list, size);
+  }
+
+  /**
+   * 分块并发加载：每块在虚拟线程上调用一次 loader，最多 maxConcurrency 块同时执行
+   * 结果按块顺序合并到预分配的列表中，总耗时约等于最慢的一批而非各批之和；任一批失败则取消其余批次并抛出原异常。
+   */
+  public static <T, R> List<R> batchLoad(List<T> ids, int chunkSize, int maxConcurrency,
+                                         Function<? super List<T>, ? extends Collection<? extends R>> loader) {
+    if (isEmpty(ids)) return Collections.emptyList();
+    List<List<T>> chunks = chunk(ids, chunkSize);
+    List<Collection<? extends R>> parts = VirtualThreads.invokeAll(chunks.size(), i -> loader.apply(chunks.get(i)), maxConcurrency);
+
+    List<R> result = new ArrayList<>(ids.size());
+    for (Collection<? extends R> part : parts) {
+      if (part != null) result.addAll(part);
+    }
+    return result;
+  }
+
+  /**
+   * 分块并发加载并合并为 Map (loader 直接返回 Map，跨批次键冲突取先到)
+   */
+  public static <T, K, V> Map<K, V> batchLoadToMap(List<T> ids, int chunkSize, int maxConcurrency,
+                                                   Function<? super List<T>, ? extends Map<? extends K, ? extends V>> loader) {
+    if (isEmpty(ids)) return Map.of();
+    List<List<T>> chunks = chunk(ids, chunkSize);
+    List<Map<? extends K, ? extends V>> parts = VirtualThreads.invokeAll(chunks.size(), i -> loader.apply(chunks.get(i)), maxConcurrency);
+
+    Map<K, V> result = HashMap.newHashMap(ids.size());
+    for (Map<? extends K, ? extends V> part : parts) {
+      if (part != null) part.forEach(result::putIfAbsent);
+    }
+    return result;
+  }
+
+  /**
+   * 分块并发加载实体并按 keyMapper 建立索引，等价于 convertToMap(batchLoad(...), keyMapper)，省去中间列表
+   */
+  public static <T, K, V> Map<K, V> batchLoadToMap(List<T> ids, int chunkSize, int maxConcurrency,
+                                                   Function<? super List<T>, ? extends Collection<? extends V>> loader,
+                                                   Function<? super V, ? extends K> keyMapper) {
+    if (isEmpty(ids)) return Map.of();
+    List<List<T>> chunks = chunk(ids, chunkSize);
+    List<Collection<? extends V>> parts = VirtualThreads.invokeAll(chunks.size(), i -> loader.apply(chunks.get(i)), maxConcurrency);
+
+    Map<K, V> result = HashMap.newHashMap(ids.size());
+    for (Collection<? extends V> part : parts) {
+      if (part == null) continue;
+      for (V v : part) {
+        if (v == null) continue;
+        K key = keyMapper.apply(v);
+        if (key != null) result.putIfAbsent(key, v);
+      }
+    }
+    return result;
+  }
+
+  private static final class Chunks<T> extends AbstractList<List<T>> implements RandomAccess {
+    private final List<T> source;
+    private final int chunkSize;
+
+    private Chunks(List<T> source, int chunkSize) {
+      this.source = source;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<T> get(int index) {
+      Objects.checkIndex(index, size());
+      int from = index * chunkSize;
+      return source.subList(from, Math.min(source.size(), from + chunkSize));
+    }
+
+    @Override
+    public int size() {
+      return (int) (((long) source.size() + chunkSize - 1) / chunkSize);
+    }
+  }
 }
\ No newline at end of file
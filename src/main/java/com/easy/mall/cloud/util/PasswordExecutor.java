@@ -0,0 +1,112 @@
+package com.easy.mall.cloud.util;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希专用线程池 (CodeUtil.encodePassword / matchesPassword 使用)
+ * 1. BCrypt / PBKDF2 是纯 CPU 计算，放在虚拟线程上会长时间占住载体线程；这里改由固定数量的平台线程执行，调用方只等待 Future。
+ * 2. 有界队列 + AbortPolicy：队列满时立即返回失败的 Future，登录洪峰只会让部分请求快速失败，不会拖垮其他业务。
+ * 3. 编码结果带 {id} 前缀 (DelegatingPasswordEncoder)，便于日后切换算法；无前缀的旧 BCrypt 密文按 BCrypt 校验。
+ * 4. Argon2 依赖 BouncyCastle，当前工程未引入，因此只提供 bcrypt 与 pbkdf2。
+ * 可调参数 (系统属性)：
+ * code.util.password.algorithm      编码算法 bcrypt | pbkdf2，默认 bcrypt
+ * code.util.password.bcrypt.strength BCrypt 强度 (log2 轮数)，默认 10
+ * code.util.password.pbkdf2.iterations PBKDF2-SHA256 迭代次数，默认 310000
+ * code.util.password.threads         线程数，默认 CPU 核数
+ * code.util.password.queue           队列长度，默认 线程数 * 16
+ */
+final class PasswordExecutor {
+
+  private static final String PREFIX = "code.util.password.";
+
+  private final PasswordEncoder encoder;
+  private final ThreadPoolExecutor pool;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder queueNanos = new LongAdder();
+  private final LongAccumulator maxQueueNanos = new LongAccumulator(Math::max, 0L);
+
+  private PasswordExecutor() {
+    String algorithm = System.getProperty(PREFIX + "algorithm", "bcrypt");
+    int strength = Integer.getInteger(PREFIX + "bcrypt.strength", 10);
+    int iterations = Integer.getInteger(PREFIX + "pbkdf2.iterations", 310_000);
+    int threads = Math.max(1, Integer.getInteger(PREFIX + "threads", Runtime.getRuntime().availableProcessors()));
+    int queue = Math.max(1, Integer.getInteger(PREFIX + "queue", threads * 16));
+
+    PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+    PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder("", 16, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    Map<String, PasswordEncoder> encoders = Map.of("bcrypt", bcrypt, "pbkdf2", pbkdf2);
+    if (!encoders.containsKey(algorithm)) throw new IllegalStateException("不支持的密码算法: " + algorithm);
+    DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+    delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+    this.encoder = delegating;
+
+    AtomicInteger index = new AtomicInteger();
+    ThreadFactory factory = r -> {
+      Thread t = new Thread(r, "password-hash-" + index.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+    this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queue), factory, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  static PasswordExecutor instance() {
+    return Holder.INSTANCE;
+  }
+
+  CompletableFuture<String> encode(CharSequence raw) {
+    return submit(() -> encoder.encode(raw));
+  }
+
+  CompletableFuture<Boolean> matches(CharSequence raw, String encoded) {
+    return submit(() -> encoder.matches(raw, encoded));
+  }
+
+  CodeUtil.PasswordStats stats() {
+    long done = completed.sum();
+    return new CodeUtil.PasswordStats(submitted.sum(), rejected.sum(), done,
+        pool.getQueue().size(), pool.getActiveCount(),
+        done == 0 ? 0L : queueNanos.sum() / done, maxQueueNanos.get());
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> task) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    long enqueued = System.nanoTime();
+    submitted.increment();
+    try {
+      pool.execute(() -> {
+        long waited = System.nanoTime() - enqueued;
+        queueNanos.add(waited);
+        maxQueueNanos.accumulate(waited);
+        try {
+          future.complete(task.get());
+        } catch (Throwable e) {
+          future.completeExceptionally(e);
+        } finally {
+          completed.increment();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private static final class Holder {
+    static final PasswordExecutor INSTANCE = new PasswordExecutor();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.easy.mall.cloud.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * StreamUtil 自适应入口的阈值校准 (StreamBenchmark 的精简内置版)
+ * 1. 只在被要求时校准：显式调用 StreamUtil.calibrate()，或指定 -Dstream.util.profile=文件路径
+ *    (优先加载已保存的档案；档案不存在或核数不符则在后台重新校准并写回)。
+ * 2. 校准流程：小数据量预热触发 C2 编译，再按规模递增比较 For 与 Parallel，取 Parallel 稳定胜出 (快 10% 以上) 的最小规模。
+ * 3. 单核环境并行没有收益，直接关闭并行分支，不做校准。
+ * 4. 未校准时使用只由核数决定的默认档案，同一配置的机器每次启动结果相同。
+ */
+final class StreamCalibrator {
+
+  static final String PROFILE_PROPERTY = "stream.util.profile";
+
+  private static final int[] SIZES = {2_000, 20_000, 100_000, 400_000};
+  private static final int WARMUP_ITERATIONS = 1_000;
+  private static final int WARMUP_SIZE = 1_000;
+  private static final long ELEMENTS_PER_SIZE = 600_000L;
+  // 默认阈值：2~3 核时并行收益有限，取最大校准规模；4 核及以上取中间规模
+  private static final int FEW_CORES_THRESHOLD = SIZES[SIZES.length - 1];
+  private static final int MANY_CORES_THRESHOLD = SIZES[SIZES.length - 2];
+
+  // 防止 JIT 把被测调用当作死代码消除
+  @SuppressWarnings("unused")
+  private static volatile int sink;
+
+  private StreamCalibrator() {
+  }
+
+  /**
+   * 未校准时使用的默认档案，只取决于核数
+   */
+  static StreamUtil.Profile defaults() {
+    int cores = Runtime.getRuntime().availableProcessors();
+    if (cores <= 1) return new StreamUtil.Profile(cores, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    int threshold = cores < 4 ? FEW_CORES_THRESHOLD : MANY_CORES_THRESHOLD;
+    return new StreamUtil.Profile(cores, threshold, threshold);
+  }
+
+  /**
+   * 是否指定了 -Dstream.util.profile
+   */
+  static boolean profileRequested() {
+    return profilePath() != null;
+  }
+
+  /**
+   * 读取 -Dstream.util.profile 指定的档案；未配置、不可读、损坏或核数不符时返回 null
+   */
+  static StreamUtil.Profile loadStored() {
+    Path path = profilePath();
+    if (path == null || !Files.isReadable(path)) return null;
+    StreamUtil.Profile stored = load(path);
+    return stored != null && stored.cores() == Runtime.getRuntime().availableProcessors() ? stored : null;
+  }
+
+  /**
+   * 现场校准，配置了档案路径时写回
+   */
+  static StreamUtil.Profile calibrateAndStore() {
+    StreamUtil.Profile profile = calibrate();
+    Path path = profilePath();
+    if (path != null) store(path, profile);
+    return profile;
+  }
+
+  private static Path profilePath() {
+    String location = System.getProperty(PROFILE_PROPERTY);
+    return ObjUtil.isBlank(location) ? null : Path.of(location);
+  }
+
+  static StreamUtil.Profile calibrate() {
+    int cores = Runtime.getRuntime().availableProcessors();
+    if (cores <= 1) return new StreamUtil.Profile(cores, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    List<Long> warmData = longs(WARMUP_SIZE);
+    List<List<Long>> warmFlat = List.of(warmData, warmData, warmData);
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      sink = StreamUtil.transToMapFor(warmData, v -> v).size()
+          + StreamUtil.transToMapParallel(warmData, v -> v).size()
+          + StreamUtil.flatFor(warmFlat).size()
+          + StreamUtil.flatParallel(warmFlat).size();
+    }
+
+    int flat = crossover(size -> {
+          List<Long> data = longs(size / 3);
+          return List.of(data, data, data);
+        },
+        data -> sink = StreamUtil.flatFor(data).size(),
+        data -> sink = StreamUtil.flatParallel(data).size());
+    int transToMap = crossover(StreamCalibrator::longs,
+        data -> sink = StreamUtil.transToMapFor(data, v -> v).size(),
+        data -> sink = StreamUtil.transToMapParallel(data, v -> v).size());
+    return new StreamUtil.Profile(cores, flat, transToMap);
+  }
+
+  /**
+   * 连续两次测量 Parallel 都胜出才认定交叉点，避免单次抖动把阈值拉得过低
+   * 胜出档之后还有更大一档时由下一档确认；胜出的是最大一档时，对同一档再测一次确认。
+   */
+  private static <T> int crossover(IntFunction<T> dataFactory, Consumer<T> sequential, Consumer<T> parallel) {
+    int candidate = Integer.MAX_VALUE;
+    for (int size : SIZES) {
+      T data = dataFactory.apply(size);
+      if (!parallelWins(sequential, parallel, data, size)) {
+        candidate = Integer.MAX_VALUE;
+      } else if (candidate != Integer.MAX_VALUE) {
+        return candidate;
+      } else {
+        candidate = size;
+      }
+    }
+    if (candidate == Integer.MAX_VALUE) return candidate;
+    return parallelWins(sequential, parallel, dataFactory.apply(candidate), candidate) ? candidate : Integer.MAX_VALUE;
+  }
+
+  private static <T> boolean parallelWins(Consumer<T> sequential, Consumer<T> parallel, T data, int size) {
+    int reps = (int) Math.max(3, Math.min(20, ELEMENTS_PER_SIZE / size));
+    long seq = best(sequential, data, reps);
+    long par = best(parallel, data, reps);
+    return par * 10 < seq * 9;
+  }
+
+  private static <T> long best(Consumer<T> task, T data, int reps) {
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < reps; i++) {
+      long start = System.nanoTime();
+      task.accept(data);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+
+  private static List<Long> longs(int size) {
+    List<Long> data = new ArrayList<>(size);
+    for (long i = 0; i < size; i++) data.add(i);
+    return data;
+  }
+
+  private static StreamUtil.Profile load(Path path) {
+    Properties props = new Properties();
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      props.load(reader);
+      return new StreamUtil.Profile(
+          Integer.parseInt(props.getProperty("cores")),
+          Integer.parseInt(props.getProperty("flat.parallel.threshold")),
+          Integer.parseInt(props.getProperty("transToMap.parallel.threshold")));
+    } catch (IOException | RuntimeException e) {
+      // 档案损坏或字段缺失：当作不存在，重新校准
+      return null;
+    }
+  }
+
+  private static void store(Path path, StreamUtil.Profile profile) {
+    Properties props = new Properties();
+    props.putAll(Map.of(
+        "cores", String.valueOf(profile.cores()),
+        "flat.parallel.threshold", String.valueOf(profile.flatParallelThreshold()),
+        "transToMap.parallel.threshold", String.valueOf(profile.transToMapParallelThreshold())));
+    try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      props.store(writer, "StreamUtil calibration profile");
+    } catch (IOException ignored) {
+      // 写回失败不影响本次使用，下次启动重新校准
+    }
+  }
+}
\ No newline at end of file
@@ -1,11 +1,124 @@
 package com.easy.mall.cloud.util;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 public final class StreamUtil {
 
+  private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+  private static final AtomicReference<Profile> PROFILE;
+  private static final CompletableFuture<Profile> CALIBRATION;
+
+  /**
+   * 自适应入口的切换阈值 (元素总数)：达到阈值走 Parallel，否则走 For
+   * Stream 版本在顺序场景下始终不优于 For，不参与调度。
+   */
+  public record Profile(int cores, int flatParallelThreshold, int transToMapParallelThreshold) {
+  }
+
+  /*
+   * 类加载时确定档案，默认不做任何测量：
+   * 1. 未指定 -Dstream.util.profile：使用只由核数决定的默认档案，如需校准由调用方显式 calibrate()。
+   * 2. 指定了档案且可用：直接加载。
+   * 3. 指定了档案但不存在或核数不符：先用默认档案，同时在后台守护线程校准并写回，完成后原子替换。
+   * 调用方从不等待校准，也不在锁内阻塞。
+   */
+  static {
+    Profile stored = StreamCalibrator.loadStored();
+    if (stored != null) {
+      PROFILE = new AtomicReference<>(stored);
+      CALIBRATION = CompletableFuture.completedFuture(stored);
+    } else if (!StreamCalibrator.profileRequested()) {
+      Profile defaults = StreamCalibrator.defaults();
+      PROFILE = new AtomicReference<>(defaults);
+      CALIBRATION = CompletableFuture.completedFuture(defaults);
+    } else {
+      Profile fallback = StreamCalibrator.defaults();
+      PROFILE = new AtomicReference<>(fallback);
+      CALIBRATION = new CompletableFuture<>();
+      Thread.ofPlatform().daemon().name("stream-util-calibrator").start(() -> {
+        try {
+          Profile calibrated = StreamCalibrator.calibrateAndStore();
+          // 期间若已手动 calibrate()，以手动结果为准
+          PROFILE.compareAndSet(fallback, calibrated);
+          CALIBRATION.complete(calibrated);
+        } catch (Throwable e) {
+          CALIBRATION.completeExceptionally(e);
+        }
+      });
+    }
+  }
+
+  // --- [ 自适应入口 ] ---
+
+  /**
+   * 按总元素数与当前阈值档案在 flatFor / flatParallel 间选择
+   * 两个分支统一返回只读 List，调用方能否修改结果不随数据量或机器而变。
+   */
+  public static <T> List<T> flat(Collection<? extends Collection<T>> collections) {
+    if (ObjUtil.isEmpty(collections)) return List.of();
+    long totalSize = 0;
+    for (Collection<T> sub : collections) {
+      if (sub != null) totalSize += sub.size();
+    }
+    // flatParallel 经 toList() 已是只读，flatFor 的 ArrayList 包装为只读视图，无需拷贝
+    return totalSize >= profile().flatParallelThreshold() ? flatParallel(collections) : Collections.unmodifiableList(flatFor(collections));
+  }
+
+  /**
+   * 按元素数与当前阈值档案在 transToMapFor / transToMapParallel 间选择 (两个分支都返回 HashMap)
+   */
+  public static <K, V> Map<K, V> transToMap(List<V> list, Function<? super V, ? extends K> keyMapper) {
+    if (ObjUtil.isEmpty(list)) return Map.of();
+    return list.size() >= profile().transToMapParallelThreshold() ? transToMapParallel(list, keyMapper) : transToMapFor(list, keyMapper);
+  }
+
+  /**
+   * 当前生效的阈值档案，不阻塞：默认档案、-Dstream.util.profile 加载的档案，或最近一次校准的结果
+   */
+  public static Profile profile() {
+    return PROFILE.get();
+  }
+
+  /**
+   * 启动时确定的档案；仅在 -Dstream.util.profile 触发后台校准时需要等待，其余情况已完成
+   */
+  public static CompletableFuture<Profile> calibration() {
+    return CALIBRATION.copy();
+  }
+
+  /**
+   * 在当前线程校准 (约 1~3 秒) 并立即生效，如预热阶段或容器 CPU 配额变更后；指定了档案路径时写回
+   */
+  public static Profile calibrate() {
+    Profile p = StreamCalibrator.calibrateAndStore();
+    PROFILE.set(p);
+    return p;
+  }
+
+  // --- [ I/O 密集映射 ] ---
+
+  /**
+   * 有界并发映射：mapper 含远程缓存 / DB 调用时使用，避免阻塞 ForkJoin 公共池
+   * 1. 每个元素在虚拟线程上执行，同时最多 maxConcurrency 个调用在途。
+   * 2. 结果与输入一一对应、顺序一致；null 元素不调用 mapper，结果位置为 null。
+   * 3. 任一调用失败即中断其余调用，并抛出首个失败的原始异常。
+   */
+  public static <T, R> List<R> mapConcurrent(List<T> list, Function<? super T, ? extends R> mapper, int maxConcurrency) {
+    if (ObjUtil.isEmpty(list)) return List.of();
+    List<T> source = list instanceof RandomAccess ? list : new ArrayList<>(list);
+    return VirtualThreads.invokeAll(source.size(), i -> {
+      T item = source.get(i);
+      return item == null ? null : mapper.apply(item);
+    }, maxConcurrency);
+  }
+
   // --- [ flat 方法的三种实现 ] ---
 
   public static <T> List<T> flatFor(Collection<? extends Collection<T>> collections) {
@@ -30,12 +143,15 @@ public final class StreamUtil {
         .toList(); // JDK 16+ 优化点
   }
 
+  /**
+   * 并行扁平化：按总元素数均分任务 (而非按子集合个数)，少量超大子集合同样能铺满所有核心
+   * FlatSpliterator 声明 SIZED | SUBSIZED，toList 预分配总长数组，各叶子任务按偏移直接写入。
+   */
   public static <T> List<T> flatParallel(Collection<? extends Collection<T>> collections) {
     if (ObjUtil.isEmpty(collections)) return List.of();
-    return collections.parallelStream()
-        .filter(Objects::nonNull)
-        .flatMap(Collection::stream)
-        .toList();
+    FlatSpliterator<T> spliterator = FlatSpliterator.of(collections);
+    if (spliterator.totalSize() > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("扁平化结果超出数组上限");
+    return StreamSupport.stream(spliterator, true).toList();
   }
 
   // --- [ transToMap 方法的三种实现 ] ---
@@ -59,11 +175,45 @@ public final class StreamUtil {
         .collect(Collectors.toMap(keyMapper, v -> v, (f, i) -> f));
   }
 
+  /**
+   * 并行 List 转 Map：各块独立构建局部 HashMap，再按块顺序两两归并
+   * 1. 不共享 ConcurrentHashMap，构建阶段无竞争。
+   * 2. 归并时靠前的块优先，重复键保留首个元素，结果与 transToMapFor 完全一致且每次相同。
+   * 3. 返回普通 HashMap。
+   */
   public static <K, V> Map<K, V> transToMapParallel(List<V> list, Function<? super V, ? extends K> keyMapper) {
     if (ObjUtil.isEmpty(list)) return Map.of();
-    // 注意：toMap 在并行流下性能较差，并发场景通常用 toConcurrentMap
-    return list.parallelStream()
-        .filter(Objects::nonNull)
-        .collect(Collectors.toConcurrentMap(keyMapper, v -> v, (f, i) -> f));
+    List<V> source = list instanceof RandomAccess ? list : new ArrayList<>(list);
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, source.size() / (Runtime.getRuntime().availableProcessors() * 4) + 1);
+    List<List<V>> chunks = ObjUtil.chunk(source, chunkSize);
+    if (chunks.size() == 1) return StreamUtil.<K, V>localMap(source, keyMapper);
+
+    return IntStream.range(0, chunks.size()).parallel()
+        .mapToObj(i -> StreamUtil.<K, V>localMap(chunks.get(i), keyMapper))
+        .reduce(StreamUtil::mergeFirstWins)
+        .orElseGet(HashMap::new);
+  }
+
+  private static <K, V> Map<K, V> localMap(List<V> chunk, Function<? super V, ? extends K> keyMapper) {
+    Map<K, V> map = HashMap.newHashMap(chunk.size());
+    for (V v : chunk) {
+      if (v != null) {
+        K key = keyMapper.apply(v);
+        if (key != null) map.putIfAbsent(key, v);
+      }
+    }
+    return map;
+  }
+
+  /**
+   * 合并相邻两块的结果 (earlier 在前)：往较大的一方合入以减少插入次数，同时保证 earlier 的值胜出
+   */
+  private static <K, V> Map<K, V> mergeFirstWins(Map<K, V> earlier, Map<K, V> later) {
+    if (earlier.size() >= later.size()) {
+      later.forEach(earlier::putIfAbsent);
+      return earlier;
+    }
+    later.putAll(earlier);
+    return later;
   }
 }
\ No newline at end of file
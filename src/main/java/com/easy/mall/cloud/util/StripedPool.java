@@ -0,0 +1,57 @@
+package com.easy.mall.cloud.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按线程分条带的无锁对象池 (DigestPool / MacPool 的空闲实例)
+ * 1. 每个条带一个槽位，借用为一次 getAndSet(null)，归还为一次 compareAndSet(null, obj)，热路径上没有锁。
+ * 2. 先试当前线程所属条带，为空 (或已满) 时顺序探测其余条带：虚拟线程的 threadId 不固定，
+ *    只看自己的条带会频繁落空，而探测只是几次 volatile 读，远比新建一个实例便宜。
+ * 3. 容量即条带数，全部占满时归还的实例直接丢弃。
+ * 4. stride > 1 时相邻槽位间隔 stride 个引用，避免不同核上的借还互相争抢同一缓存行 (以内存换并发)。
+ */
+final class StripedPool<T> {
+
+  static final int STRIPES = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 2) - 1) << 1;
+
+  private final AtomicReferenceArray<T> slots;
+  private final int stride;
+
+  StripedPool(int stride) {
+    this.stride = stride;
+    this.slots = new AtomicReferenceArray<>(STRIPES * stride);
+  }
+
+  /**
+   * 借出一个空闲实例，没有时返回 null
+   */
+  T poll() {
+    int start = stripe();
+    for (int i = 0; i < STRIPES; i++) {
+      int index = ((start + i) & (STRIPES - 1)) * stride;
+      if (slots.get(index) == null) continue;
+      T value = slots.getAndSet(index, null);
+      if (value != null) return value;
+    }
+    return null;
+  }
+
+  /**
+   * 归还实例，所有槽位已满时返回 false (调用方丢弃即可)
+   */
+  boolean offer(T value) {
+    int start = stripe();
+    for (int i = 0; i < STRIPES; i++) {
+      int index = ((start + i) & (STRIPES - 1)) * stride;
+      if (slots.get(index) == null && slots.compareAndSet(index, null, value)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * 当前线程所属的条带 [0, STRIPES)，散列方式同 CodeUtil.stripe
+   */
+  static int stripe() {
+    return (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32) & (STRIPES - 1);
+  }
+}
\ No newline at end of file
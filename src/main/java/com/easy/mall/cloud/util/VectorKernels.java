@@ -0,0 +1,185 @@
+package com.easy.mall.cloud.util;
+
+import jdk.incubator.vector.*;
+
+/**
+ * 基于 jdk.incubator.vector 的 SIMD 聚合内核 (仅由 VectorUtil 在模块可用时调用)
+ * 条件判断全部转为 lane 掩码 (compare + blend / trueCount)，循环体内没有数据相关分支，
+ * 因此耗时与数据是否有序无关；尾部不足一个向量宽度的元素走标量循环。
+ */
+final class VectorKernels {
+
+  private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+
+  private VectorKernels() {
+  }
+
+  // --- [ int[] ] ---
+
+  static long sumAtLeast(int[] a, int threshold) {
+    // int 累加会溢出：选中的 lane 拆成两半扩宽为 long 后再累加
+    LongVector lo = LongVector.zero(LONG), hi = LongVector.zero(LONG);
+    int i = 0;
+    for (int upper = INT.loopBound(a.length); i < upper; i += INT.length()) {
+      IntVector v = IntVector.fromArray(INT, a, i);
+      IntVector selected = v.blend(0, v.compare(VectorOperators.LT, threshold));
+      lo = lo.add((LongVector) selected.convertShape(VectorOperators.I2L, LONG, 0));
+      hi = hi.add((LongVector) selected.convertShape(VectorOperators.I2L, LONG, 1));
+    }
+    long sum = lo.add(hi).reduceLanes(VectorOperators.ADD);
+    for (; i < a.length; i++) sum += a[i] >= threshold ? a[i] : 0;
+    return sum;
+  }
+
+  static int countAtLeast(int[] a, int threshold) {
+    int count = 0, i = 0;
+    for (int upper = INT.loopBound(a.length); i < upper; i += INT.length()) {
+      count += IntVector.fromArray(INT, a, i).compare(VectorOperators.GE, threshold).trueCount();
+    }
+    for (; i < a.length; i++) count += a[i] >= threshold ? 1 : 0;
+    return count;
+  }
+
+  static int min(int[] a) {
+    IntVector acc = IntVector.broadcast(INT, Integer.MAX_VALUE);
+    int i = 0;
+    for (int upper = INT.loopBound(a.length); i < upper; i += INT.length()) acc = acc.min(IntVector.fromArray(INT, a, i));
+    int min = acc.reduceLanes(VectorOperators.MIN);
+    for (; i < a.length; i++) min = Math.min(min, a[i]);
+    return min;
+  }
+
+  static int max(int[] a) {
+    IntVector acc = IntVector.broadcast(INT, Integer.MIN_VALUE);
+    int i = 0;
+    for (int upper = INT.loopBound(a.length); i < upper; i += INT.length()) acc = acc.max(IntVector.fromArray(INT, a, i));
+    int max = acc.reduceLanes(VectorOperators.MAX);
+    for (; i < a.length; i++) max = Math.max(max, a[i]);
+    return max;
+  }
+
+  static int indexesAtLeast(int[] a, int threshold, int[] out) {
+    int n = 0, i = 0;
+    for (int upper = INT.loopBound(a.length); i < upper; i += INT.length()) {
+      long bits = IntVector.fromArray(INT, a, i).compare(VectorOperators.GE, threshold).toLong();
+      n = drainBits(bits, i, out, n);
+    }
+    for (; i < a.length; i++) if (a[i] >= threshold) out[n++] = i;
+    return n;
+  }
+
+  // --- [ long[] ] ---
+
+  static long sumAtLeast(long[] a, long threshold) {
+    LongVector acc = LongVector.zero(LONG);
+    int i = 0;
+    for (int upper = LONG.loopBound(a.length); i < upper; i += LONG.length()) {
+      LongVector v = LongVector.fromArray(LONG, a, i);
+      acc = acc.add(v.blend(0L, v.compare(VectorOperators.LT, threshold)));
+    }
+    long sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < a.length; i++) sum += a[i] >= threshold ? a[i] : 0L;
+    return sum;
+  }
+
+  static int countAtLeast(long[] a, long threshold) {
+    int count = 0, i = 0;
+    for (int upper = LONG.loopBound(a.length); i < upper; i += LONG.length()) {
+      count += LongVector.fromArray(LONG, a, i).compare(VectorOperators.GE, threshold).trueCount();
+    }
+    for (; i < a.length; i++) count += a[i] >= threshold ? 1 : 0;
+    return count;
+  }
+
+  static long min(long[] a) {
+    LongVector acc = LongVector.broadcast(LONG, Long.MAX_VALUE);
+    int i = 0;
+    for (int upper = LONG.loopBound(a.length); i < upper; i += LONG.length()) acc = acc.min(LongVector.fromArray(LONG, a, i));
+    long min = acc.reduceLanes(VectorOperators.MIN);
+    for (; i < a.length; i++) min = Math.min(min, a[i]);
+    return min;
+  }
+
+  static long max(long[] a) {
+    LongVector acc = LongVector.broadcast(LONG, Long.MIN_VALUE);
+    int i = 0;
+    for (int upper = LONG.loopBound(a.length); i < upper; i += LONG.length()) acc = acc.max(LongVector.fromArray(LONG, a, i));
+    long max = acc.reduceLanes(VectorOperators.MAX);
+    for (; i < a.length; i++) max = Math.max(max, a[i]);
+    return max;
+  }
+
+  static int indexesAtLeast(long[] a, long threshold, int[] out) {
+    int n = 0, i = 0;
+    for (int upper = LONG.loopBound(a.length); i < upper; i += LONG.length()) {
+      long bits = LongVector.fromArray(LONG, a, i).compare(VectorOperators.GE, threshold).toLong();
+      n = drainBits(bits, i, out, n);
+    }
+    for (; i < a.length; i++) if (a[i] >= threshold) out[n++] = i;
+    return n;
+  }
+
+  // --- [ double[] ] ---
+
+  static double sumAtLeast(double[] a, double threshold) {
+    DoubleVector acc = DoubleVector.zero(DOUBLE);
+    int i = 0;
+    for (int upper = DOUBLE.loopBound(a.length); i < upper; i += DOUBLE.length()) {
+      DoubleVector v = DoubleVector.fromArray(DOUBLE, a, i);
+      acc = acc.add(v.blend(0.0, v.compare(VectorOperators.GE, threshold).not()));
+    }
+    double sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < a.length; i++) sum += a[i] >= threshold ? a[i] : 0.0;
+    return sum;
+  }
+
+  static int countAtLeast(double[] a, double threshold) {
+    int count = 0, i = 0;
+    for (int upper = DOUBLE.loopBound(a.length); i < upper; i += DOUBLE.length()) {
+      count += DoubleVector.fromArray(DOUBLE, a, i).compare(VectorOperators.GE, threshold).trueCount();
+    }
+    for (; i < a.length; i++) count += a[i] >= threshold ? 1 : 0;
+    return count;
+  }
+
+  static double min(double[] a) {
+    DoubleVector acc = DoubleVector.broadcast(DOUBLE, Double.POSITIVE_INFINITY);
+    int i = 0;
+    for (int upper = DOUBLE.loopBound(a.length); i < upper; i += DOUBLE.length()) acc = acc.min(DoubleVector.fromArray(DOUBLE, a, i));
+    double min = acc.reduceLanes(VectorOperators.MIN);
+    for (; i < a.length; i++) min = Math.min(min, a[i]);
+    return min;
+  }
+
+  static double max(double[] a) {
+    DoubleVector acc = DoubleVector.broadcast(DOUBLE, Double.NEGATIVE_INFINITY);
+    int i = 0;
+    for (int upper = DOUBLE.loopBound(a.length); i < upper; i += DOUBLE.length()) acc = acc.max(DoubleVector.fromArray(DOUBLE, a, i));
+    double max = acc.reduceLanes(VectorOperators.MAX);
+    for (; i < a.length; i++) max = Math.max(max, a[i]);
+    return max;
+  }
+
+  static int indexesAtLeast(double[] a, double threshold, int[] out) {
+    int n = 0, i = 0;
+    for (int upper = DOUBLE.loopBound(a.length); i < upper; i += DOUBLE.length()) {
+      long bits = DoubleVector.fromArray(DOUBLE, a, i).compare(VectorOperators.GE, threshold).toLong();
+      n = drainBits(bits, i, out, n);
+    }
+    for (; i < a.length; i++) if (a[i] >= threshold) out[n++] = i;
+    return n;
+  }
+
+  /**
+   * 把掩码中置位的 lane 下标依次写出，循环次数等于命中数而不是向量宽度
+   */
+  private static int drainBits(long bits, int base, int[] out, int n) {
+    while (bits != 0) {
+      out[n++] = base + Long.numberOfTrailingZeros(bits);
+      bits &= bits - 1;
+    }
+    return n;
+  }
+}
\ No newline at end of file
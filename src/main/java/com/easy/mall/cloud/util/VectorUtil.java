@@ -0,0 +1,177 @@
+package com.easy.mall.cloud.util;
+
+/**
+ * 原生数组聚合内核：条件求和、条件计数、最值、条件过滤到下标
+ * 1. 启动参数带 --add-modules jdk.incubator.vector 时走 SIMD 实现 (VectorKernels)，否则走标量实现，结果一致。
+ * 2. 两种实现都是无分支写法 (掩码 / 条件传送)，避免 `if (val >= 128) sum += val` 在乱序数据上的分支预测失败。
+ * 3. 可通过 -Dvector.util.disabled=true 强制使用标量实现。
+ * 4. double 求和的累加顺序与逐个相加不同，末位舍入可能有差异。
+ * 5. null / 空数组：求和与计数返回 0，min / max 返回对应类型的极值 (即聚合的单位元)。
+ */
+public final class VectorUtil {
+
+  private static final boolean VECTORIZED = !Boolean.getBoolean("vector.util.disabled")
+      && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+  private VectorUtil() {
+  }
+
+  /**
+   * 当前是否使用 SIMD 实现
+   */
+  public static boolean isVectorized() {
+    return VECTORIZED;
+  }
+
+  // --- [ int[] ] ---
+
+  /**
+   * 对 >= threshold 的元素求和 (以 long 累加，不会溢出)
+   */
+  public static long sumAtLeast(int[] a, int threshold) {
+    if (a == null) return 0L;
+    if (VECTORIZED) return VectorKernels.sumAtLeast(a, threshold);
+    long sum = 0;
+    for (int v : a) sum += v >= threshold ? v : 0;
+    return sum;
+  }
+
+  public static int countAtLeast(int[] a, int threshold) {
+    if (a == null) return 0;
+    if (VECTORIZED) return VectorKernels.countAtLeast(a, threshold);
+    int count = 0;
+    for (int v : a) count += v >= threshold ? 1 : 0;
+    return count;
+  }
+
+  public static int min(int[] a) {
+    if (a == null) return Integer.MAX_VALUE;
+    if (VECTORIZED) return VectorKernels.min(a);
+    int min = Integer.MAX_VALUE;
+    for (int v : a) min = Math.min(min, v);
+    return min;
+  }
+
+  public static int max(int[] a) {
+    if (a == null) return Integer.MIN_VALUE;
+    if (VECTORIZED) return VectorKernels.max(a);
+    int max = Integer.MIN_VALUE;
+    for (int v : a) max = Math.max(max, v);
+    return max;
+  }
+
+  /**
+   * 将 >= threshold 的元素下标按升序写入 out，返回命中个数；out 长度不得小于 a
+   */
+  public static int indexesAtLeast(int[] a, int threshold, int[] out) {
+    if (a == null) return 0;
+    checkCapacity(a.length, out);
+    if (VECTORIZED) return VectorKernels.indexesAtLeast(a, threshold, out);
+    int n = 0;
+    for (int i = 0; i < a.length; i++) {
+      // 无条件写入，命中才推进游标：消除分支
+      out[n] = i;
+      n += a[i] >= threshold ? 1 : 0;
+    }
+    return n;
+  }
+
+  // --- [ long[] ] ---
+
+  public static long sumAtLeast(long[] a, long threshold) {
+    if (a == null) return 0L;
+    if (VECTORIZED) return VectorKernels.sumAtLeast(a, threshold);
+    long sum = 0;
+    for (long v : a) sum += v >= threshold ? v : 0L;
+    return sum;
+  }
+
+  public static int countAtLeast(long[] a, long threshold) {
+    if (a == null) return 0;
+    if (VECTORIZED) return VectorKernels.countAtLeast(a, threshold);
+    int count = 0;
+    for (long v : a) count += v >= threshold ? 1 : 0;
+    return count;
+  }
+
+  public static long min(long[] a) {
+    if (a == null) return Long.MAX_VALUE;
+    if (VECTORIZED) return VectorKernels.min(a);
+    long min = Long.MAX_VALUE;
+    for (long v : a) min = Math.min(min, v);
+    return min;
+  }
+
+  public static long max(long[] a) {
+    if (a == null) return Long.MIN_VALUE;
+    if (VECTORIZED) return VectorKernels.max(a);
+    long max = Long.MIN_VALUE;
+    for (long v : a) max = Math.max(max, v);
+    return max;
+  }
+
+  public static int indexesAtLeast(long[] a, long threshold, int[] out) {
+    if (a == null) return 0;
+    checkCapacity(a.length, out);
+    if (VECTORIZED) return VectorKernels.indexesAtLeast(a, threshold, out);
+    int n = 0;
+    for (int i = 0; i < a.length; i++) {
+      out[n] = i;
+      n += a[i] >= threshold ? 1 : 0;
+    }
+    return n;
+  }
+
+  // --- [ double[] ] ---
+
+  /**
+   * 对 >= threshold 的元素求和；NaN 不满足条件，不参与求和
+   */
+  public static double sumAtLeast(double[] a, double threshold) {
+    if (a == null) return 0.0;
+    if (VECTORIZED) return VectorKernels.sumAtLeast(a, threshold);
+    double sum = 0;
+    for (double v : a) sum += v >= threshold ? v : 0.0;
+    return sum;
+  }
+
+  public static int countAtLeast(double[] a, double threshold) {
+    if (a == null) return 0;
+    if (VECTORIZED) return VectorKernels.countAtLeast(a, threshold);
+    int count = 0;
+    for (double v : a) count += v >= threshold ? 1 : 0;
+    return count;
+  }
+
+  public static double min(double[] a) {
+    if (a == null) return Double.POSITIVE_INFINITY;
+    if (VECTORIZED) return VectorKernels.min(a);
+    double min = Double.POSITIVE_INFINITY;
+    for (double v : a) min = Math.min(min, v);
+    return min;
+  }
+
+  public static double max(double[] a) {
+    if (a == null) return Double.NEGATIVE_INFINITY;
+    if (VECTORIZED) return VectorKernels.max(a);
+    double max = Double.NEGATIVE_INFINITY;
+    for (double v : a) max = Math.max(max, v);
+    return max;
+  }
+
+  public static int indexesAtLeast(double[] a, double threshold, int[] out) {
+    if (a == null) return 0;
+    checkCapacity(a.length, out);
+    if (VECTORIZED) return VectorKernels.indexesAtLeast(a, threshold, out);
+    int n = 0;
+    for (int i = 0; i < a.length; i++) {
+      out[n] = i;
+      n += a[i] >= threshold ? 1 : 0;
+    }
+    return n;
+  }
+
+  private static void checkCapacity(int length, int[] out) {
+    if (out == null || out.length < length) throw new IllegalArgumentException("out 长度不得小于输入数组长度");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.easy.mall.cloud.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * 虚拟线程上的有界并发执行 (适用于 I/O 密集任务：DB、远程缓存、RPC)
+ * 1. 调用方线程先获取许可再提交，任意时刻最多 maxConcurrency 个任务在运行，不会一次性堆积大量阻塞线程。
+ * 2. 结果按任务下标写入数组，返回顺序与输入顺序一致。
+ * 3. 首个失败的任务立即 shutdownNow 中断其余任务，并将原始异常抛给调用方。
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static <R> List<R> invokeAll(int count, IntFunction<? extends R> task, int maxConcurrency) {
+    if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency 必须大于 0");
+    Object[] results = new Object[count];
+
+    // 单任务或串行并发度：直接在调用方线程执行，省去线程切换
+    if (count <= 1 || maxConcurrency == 1) {
+      for (int i = 0; i < count; i++) results[i] = task.apply(i);
+      return (List<R>) Arrays.asList(results);
+    }
+
+    Semaphore permits = new Semaphore(maxConcurrency);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < count && failure.get() == null; i++) {
+        try {
+          permits.acquire();
+        } catch (InterruptedException e) {
+          executor.shutdownNow();
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("批量任务等待被中断", e);
+        }
+        int index = i;
+        try {
+          executor.execute(() -> {
+            try {
+              results[index] = task.apply(index);
+            } catch (Throwable t) {
+              if (failure.compareAndSet(null, t)) executor.shutdownNow();
+            } finally {
+              permits.release();
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // 其他任务失败后执行器已关闭，停止提交
+          break;
+        }
+      }
+    }
+    // close() 已等待全部任务结束，results 的写入对当前线程可见
+    Throwable t = failure.get();
+    if (t instanceof RuntimeException re) throw re;
+    if (t instanceof Error err) throw err;
+    if (t != null) throw new IllegalStateException(t);
+    return (List<R>) Arrays.asList(results);
+  }
+}
\ No newline at end of file